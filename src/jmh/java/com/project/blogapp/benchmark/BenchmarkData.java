@@ -0,0 +1,42 @@
+package com.project.blogapp.benchmark;
+
+import com.project.blogapp.dto.BlogDTO;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generated blog data for the benchmarks. A fixed seed keeps every run on the same input.
+ */
+final class BenchmarkData {
+
+    private static final String[] WORDS = {
+            "spring", "java", "database", "cache", "index", "query", "thread", "latency",
+            "throughput", "service", "mapper", "request", "response", "stream", "batch", "tag"
+    };
+
+    private final Random random = new Random(42);
+
+    String content(int length) {
+        StringBuilder content = new StringBuilder(length + 16);
+        while (content.length() < length)
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        return content.substring(0, length);
+    }
+
+    Set<String> tagNames(int tagCount) {
+        return IntStream.range(0, tagCount).mapToObj(i -> "tag-" + i).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    BlogDTO blogDTO(int index, int contentLength, int tagCount) {
+        return BlogDTO.builder()
+                .title("Blog Title " + index)
+                .content(content(contentLength))
+                .tags(tagNames(tagCount))
+                .build();
+    }
+
+}
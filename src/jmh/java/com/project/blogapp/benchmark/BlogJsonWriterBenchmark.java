@@ -0,0 +1,107 @@
+package com.project.blogapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.mapper.blog.BlogToBlogDTOMapper;
+import com.project.blogapp.repository.projection.BlogTagLink;
+import com.project.blogapp.repository.projection.BlogTagView;
+import com.project.blogapp.service.BlogJsonWriter;
+import com.project.blogapp.service.TagDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One page of posts serialized the DTO way (tag name sets, BlogDTO list, Jackson data binding) and by
+ * the streaming writer, from the same loaded rows. The gc profiler the benchmark profile runs with
+ * reports the bytes allocated per page as gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlogJsonWriterBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"2000"})
+    private int contentLength;
+
+    @Param({"5"})
+    private int tagCount;
+
+    // The response stream stays open after a page like in the message converter
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private TagDictionary tagDictionary;
+
+    private BlogToBlogDTOMapper blogToBlogDTOMapper;
+
+    private BlogJsonWriter blogJsonWriter;
+
+    private List<Blog> blogs;
+
+    private List<BlogTagView> tagViews;
+
+    private List<BlogTagLink> tagLinks;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        // Every tag is preloaded so the dictionary never falls back to the repository
+        tagDictionary = new TagDictionary(null);
+        for (long id = 1; id <= tagCount; id++)
+            tagDictionary.put(Tag.builder().id(id).tag_name("tag-" + id).build());
+        blogToBlogDTOMapper = new BlogToBlogDTOMapper(tagDictionary);
+        blogJsonWriter = new BlogJsonWriter(tagDictionary);
+
+        blogs = new ArrayList<>();
+        tagViews = new ArrayList<>();
+        tagLinks = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            blogs.add(Blog.builder().id(id).title("Blog Title " + id).content(data.content(contentLength)).version(0L).build());
+            for (long tagId = 1; tagId <= tagCount; tagId++) {
+                long blogId = id;
+                long linkedTagId = tagId;
+                tagViews.add(new BlogTagView() {
+                    public Long getBlogId() { return blogId; }
+                    public Long getTagId() { return linkedTagId; }
+                });
+                tagLinks.add(new BlogTagLink(blogId, linkedTagId));
+            }
+        }
+    }
+
+    // What BlogServiceImpl#getBlogPosts and the message converter do with a loaded page
+    @Benchmark
+    public void dto() throws IOException {
+        Map<Long, Set<String>> tagNames = tagDictionary.getTagNamesByBlog(tagViews);
+        List<BlogDTO> items = blogs.stream()
+                .map(blog -> blogToBlogDTOMapper.mapWithTags(blog, tagNames.get(blog.getId())))
+                .collect(Collectors.toList());
+        objectMapper.writeValue(out, items);
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            blogJsonWriter.writeBlogs(generator, blogs, tagLinks);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.project.blogapp.benchmark;
+
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.mapper.blog.BlogDTOToBlogMapper;
+import com.project.blogapp.mapper.blog.BlogToBlogDTOMapper;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.service.TagDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the blog mappers, including tag resolution, across content sizes and tag counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlogMapperBenchmark {
+
+    @Param({"100", "2000", "50000"})
+    private int contentLength;
+
+    @Param({"0", "3", "20"})
+    private int tagCount;
+
+    private BlogToBlogDTOMapper blogToBlogDTOMapper;
+
+    private BlogDTOToBlogMapper blogDTOToBlogMapper;
+
+    private Blog blog;
+
+    private BlogSummaryView summaryView;
+
+    private Set<String> tagNames;
+
+    private BlogDTO blogDTO;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        // Every tag is preloaded so the dictionary never falls back to the repository
+        TagDictionary tagDictionary = new TagDictionary(null);
+        Set<Tag> tags = new HashSet<>();
+        for (long id = 1; id <= tagCount; id++) {
+            Tag tag = Tag.builder().id(id).tag_name("tag-" + id).build();
+            tagDictionary.put(tag);
+            tags.add(tag);
+        }
+
+        blogToBlogDTOMapper = new BlogToBlogDTOMapper(tagDictionary);
+        blogDTOToBlogMapper = new BlogDTOToBlogMapper();
+        blog = Blog.builder().id(1L).title("Blog Title").content(data.content(contentLength)).tags(tags).build();
+        String summary = data.content(Math.min(contentLength, 100));
+        summaryView = new BlogSummaryView() {
+            public Long getId() { return 1L; }
+            public String getTitle() { return "Blog Title"; }
+            public String getSummary() { return summary; }
+        };
+        tagNames = data.tagNames(tagCount);
+        blogDTO = data.blogDTO(1, contentLength, tagCount);
+    }
+
+    @Benchmark
+    public BlogDTO mapBlog() {
+        return blogToBlogDTOMapper.map(blog);
+    }
+
+    @Benchmark
+    public BlogDTO mapWithSummary() {
+        return blogToBlogDTOMapper.mapWithSummary(summaryView, tagNames);
+    }
+
+    @Benchmark
+    public Blog mapBlogDTO() {
+        return blogDTOToBlogMapper.map(blogDTO);
+    }
+
+}
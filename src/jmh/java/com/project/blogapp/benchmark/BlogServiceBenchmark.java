@@ -0,0 +1,114 @@
+package com.project.blogapp.benchmark;
+
+import com.project.blogapp.BlogappApplication;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.service.BlogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service read paths against an embedded H2 seeded with generated posts. The cache is
+ * disabled so every call reaches the repositories, and each call runs in a read-only
+ * transaction standing in for the session a web request keeps open.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlogServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int blogCount;
+
+    @Param({"2000"})
+    private int contentLength;
+
+    @Param({"5"})
+    private int tagCount;
+
+    private ConfigurableApplicationContext context;
+
+    private BlogService blogService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> blogIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BlogappApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.type.descriptor.sql=warn",
+                        "blog.cache.enabled=false",
+                        "blog.summary.backfill-enabled=false")
+                .run();
+        blogService = context.getBean(BlogService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        BenchmarkData data = new BenchmarkData();
+        context.getBean(TagRepository.class).saveAll(data.tagNames(tagCount).stream()
+                .map(name -> Tag.builder().tag_name(name).build())
+                .collect(Collectors.toList()));
+        blogService.saveBlogs(IntStream.range(0, blogCount)
+                .mapToObj(i -> data.blogDTO(i, contentLength, tagCount))
+                .iterator());
+
+        blogIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            BlogPageDTO page = blogService.getBlogPostsWithSummaries(cursor, null);
+            page.getItems().forEach(blog -> blogIds.add(blog.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BlogPageDTO getBlogPosts() {
+        return transactionTemplate.execute(status -> blogService.getBlogPosts(null, null));
+    }
+
+    @Benchmark
+    public BlogPageDTO getBlogPostsWithSummaries() {
+        return transactionTemplate.execute(status -> blogService.getBlogPostsWithSummaries(null, null));
+    }
+
+    @Benchmark
+    public BlogDTO getBlogPost() {
+        Long blogId = blogIds.get(ThreadLocalRandom.current().nextInt(blogIds.size()));
+        return transactionTemplate.execute(status -> blogService.getBlogPost(blogId));
+    }
+
+    @Benchmark
+    public List<BlogDTO> searchBlogPosts() {
+        return transactionTemplate.execute(status -> blogService.searchBlogPosts("database latency", null));
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.project.blogapp.benchmark;
+
+import com.project.blogapp.BlogappApplication;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.service.BlogService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test comparing the platform and virtual thread execution modes on the same
+ * endpoints. Each mode gets a fresh application on a random port and its own seeded H2 database, the
+ * cache is disabled so requests block on JDBC. The project targets Java 17 and virtual threads need a
+ * Java 21 runtime, on an older one the virtual mode is reported as unavailable and no comparison is made.
+ * The benchmark profile runs it on another JDK with -Dload.java=&lt;jdk21&gt;/bin/java.
+ * <p>
+ * Tuned with the system properties load.concurrency, load.warmup and load.duration (seconds),
+ * load.blogs and load.result.
+ */
+public class LoadBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final int BLOG_COUNT = Integer.getInteger("load.blogs", 2000);
+    private static final String RESULT = System.getProperty("load.result", "target/load-result.json");
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual"))
+            results.add(run(mode));
+        if (Runtime.version().feature() < 21)
+            System.out.println("Running on Java " + Runtime.version().feature() + ", the platform and virtual comparison "
+                    + "needs a Java 21 runtime (-Dload.java=<jdk21>/bin/java with the benchmark profile)");
+        String json = results.stream().collect(Collectors.joining(",\n  ", "[\n  ", "\n]\n"));
+        Files.createDirectories(Path.of(RESULT).toAbsolutePath().getParent());
+        Files.writeString(Path.of(RESULT), json);
+        System.out.println("Load benchmark result is saved to " + Path.of(RESULT).toAbsolutePath());
+    }
+
+    private static String run(String mode) throws Exception {
+        ConfigurableApplicationContext context;
+        try {
+            context = new SpringApplicationBuilder(BlogappApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+                            "spring.h2.console.enabled=false",
+                            "spring.jpa.properties.hibernate.show_sql=false",
+                            "spring.jpa.properties.hibernate.format_sql=false",
+                            "logging.level.root=warn",
+                            "logging.level.org.hibernate.type.descriptor.sql=warn",
+                            "blog.cache.enabled=false",
+                            // All clients share one address, quotas would turn most requests into 429s
+                            "blog.admission.enabled=false",
+                            "blog.summary.backfill-enabled=false")
+                    .profiles(mode)
+                    .run();
+        } catch (RuntimeException e) {
+            System.out.printf("%-8s unavailable: %s%n", mode, startupFailure(e).getMessage());
+            return String.format("{\"mode\": \"%s\", \"available\": false}", mode);
+        }
+
+        try {
+            List<Long> blogIds = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> targets = new ArrayList<>();
+            targets.add(URI.create("http://localhost:" + port + "/api/blog"));
+            targets.add(URI.create("http://localhost:" + port + "/api/blog/summaries"));
+            blogIds.stream().limit(100).forEach(id -> targets.add(URI.create("http://localhost:" + port + "/api/blog/" + id)));
+
+            load(targets, WARMUP);
+            Result result = load(targets, DURATION);
+            System.out.printf(Locale.ROOT, "%-8s throughput %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms  errors %d%n",
+                    mode, result.throughput(), result.percentile(50), result.percentile(99), result.percentile(99.9),
+                    result.percentile(100), result.errors());
+            return String.format(Locale.ROOT,
+                    "{\"mode\": \"%s\", \"available\": true, \"concurrency\": %d, \"requests\": %d, \"errors\": %d, " +
+                            "\"throughput\": %.1f, \"p50Ms\": %.3f, \"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f}",
+                    mode, CONCURRENCY, result.latencies().length, result.errors(), result.throughput(),
+                    result.percentile(50), result.percentile(99), result.percentile(99.9), result.percentile(100));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        BenchmarkData data = new BenchmarkData();
+        context.getBean(TagRepository.class).saveAll(data.tagNames(5).stream()
+                .map(name -> Tag.builder().tag_name(name).build())
+                .collect(Collectors.toList()));
+        BlogService blogService = context.getBean(BlogService.class);
+        blogService.saveBlogs(IntStream.range(0, BLOG_COUNT)
+                .mapToObj(i -> data.blogDTO(i, 2000, 5))
+                .iterator());
+        BlogPageDTO firstPage = blogService.getBlogPostsWithSummaries(null, null);
+        return firstPage.getItems().stream().map(BlogDTO::getId).collect(Collectors.toList());
+    }
+
+    // Every client sends its next request as soon as the previous one is answered
+    private static Result load(List<URI> targets, Duration duration) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < end) {
+                    URI target = targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(target).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200)
+                            errors.incrementAndGet();
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures)
+            latencies.addAll(future.get());
+        clients.shutdown();
+        clientExecutor.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, errors.get(), sorted.length / (double) duration.toSeconds());
+    }
+
+    // The innermost IllegalStateException carries the reason, e.g. a missing Java 21 runtime
+    private static Throwable startupFailure(Throwable throwable) {
+        Throwable failure = throwable;
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause())
+            if (cause instanceof IllegalStateException)
+                failure = cause;
+        return failure;
+    }
+
+    private record Result(long[] latencies, long errors, double throughput) {
+
+        double percentile(double percentile) {
+            if (latencies.length == 0)
+                return 0;
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+
+    }
+
+}
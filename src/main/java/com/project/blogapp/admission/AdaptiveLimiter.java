@@ -0,0 +1,104 @@
+package com.project.blogapp.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit of one endpoint which follows its latency, in the style of the gradient limiters.
+ * A slow moving average of the request latency stands for the latency without queueing. While recent
+ * requests take about as long the limit grows by its square root, as they get slower the limit shrinks
+ * in proportion. Requests above the limit wait in a bounded queue for a bounded time.
+ */
+public class AdaptiveLimiter {
+
+    // Latency growth tolerated before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int maxQueue;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private int samples;
+
+    private int inflight;
+
+    private int queued;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue) {
+        if (minLimit < 1 || maxLimit < minLimit)
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= max-limit");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // False when the queue is full or no slot freed up within the wait
+    public synchronized boolean acquire(long maxWait, TimeUnit unit) throws InterruptedException {
+        if (inflight < getLimit()) {
+            inflight++;
+            return true;
+        }
+        if (queued >= maxQueue)
+            return false;
+        long deadline = System.nanoTime() + unit.toNanos(maxWait);
+        queued++;
+        try {
+            while (inflight >= getLimit()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                    return false;
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            inflight++;
+            return true;
+        } finally {
+            queued--;
+        }
+    }
+
+    // Returns the slot of an admitted request which took rttNanos
+    public synchronized void release(long rttNanos) {
+        int inflightBefore = inflight;
+        inflight--;
+        update(Math.max(rttNanos, 1), inflightBefore);
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public synchronized int getInflight() {
+        return inflight;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    private void update(long rtt, int inflightBefore) {
+        samples = Math.min(samples + 1, LONG_WINDOW);
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / samples;
+        // After a long slow phase the average would hold the limit down once latency recovers
+        if (longRtt / rtt > 2)
+            longRtt = rtt * 2;
+        // A mostly idle endpoint tells nothing about a higher limit
+        if (inflightBefore < estimatedLimit / 2)
+            return;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.project.blogapp.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.controller.BlogController;
+import com.project.blogapp.exception.ClientQuotaExceededException;
+import com.project.blogapp.exception.OverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the BlogController endpoints configured under blog.admission.endpoints. A
+ * client above its request rate is answered with 429, a request which finds the endpoint at its
+ * concurrency limit waits in the endpoint's queue and is answered with 503 once the queue is full or
+ * the wait is over. Both answers are cheap and carry Retry-After, so an overloaded endpoint sheds load
+ * instead of queueing on the connection pool together with everything else. Clients are told apart by
+ * blog.admission.client-key, their remote address or a header such as an API key.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.admission", name = "enabled", havingValue = "true")
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".admission";
+
+    private static final Duration OVERLOADED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<String, BlogProperties.Admission.Endpoint> endpoints;
+
+    private final Map<String, AdaptiveLimiter> limiters = new HashMap<>();
+
+    // Idle clients are forgotten, a returning one starts with a full bucket
+    private final Cache<String, ClientQuota> clientQuotas = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .maximumSize(100_000)
+            .build();
+
+    private final MeterRegistry meterRegistry;
+
+    private final BlogProperties.Admission.ClientKey clientKey;
+
+    private final String clientHeader;
+
+    public AdmissionInterceptor(BlogProperties blogProperties, MeterRegistry meterRegistry) {
+        this.endpoints = Map.copyOf(blogProperties.getAdmission().getEndpoints());
+        this.meterRegistry = meterRegistry;
+        this.clientKey = blogProperties.getAdmission().getClientKey();
+        this.clientHeader = blogProperties.getAdmission().getClientHeader();
+        endpoints.forEach((name, endpoint) -> {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(endpoint.getInitialLimit(), endpoint.getMinLimit(),
+                    endpoint.getMaxLimit(), endpoint.getMaxQueue());
+            limiters.put(name, limiter);
+            Gauge.builder("blog.admission.limit", limiter, AdaptiveLimiter::getLimit).tag("endpoint", name).register(meterRegistry);
+            Gauge.builder("blog.admission.inflight", limiter, AdaptiveLimiter::getInflight).tag("endpoint", name).register(meterRegistry);
+            Gauge.builder("blog.admission.queued", limiter, AdaptiveLimiter::getQueued).tag("endpoint", name).register(meterRegistry);
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws InterruptedException {
+        // The dispatch which completes an async request keeps the slot taken by the first one
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) != null)
+            return true;
+        if (!(handler instanceof HandlerMethod handlerMethod) || handlerMethod.getBeanType() != BlogController.class)
+            return true;
+        String name = handlerMethod.getMethod().getName();
+        BlogProperties.Admission.Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null)
+            return true;
+
+        if (endpoint.getClientRate() > 0) {
+            ClientQuota quota = clientQuotas.get(name + " " + clientOf(request),
+                    key -> new ClientQuota(endpoint.getClientRate(), endpoint.getClientBurst()));
+            long waitNanos = quota.tryAcquire();
+            if (waitNanos > 0) {
+                meterRegistry.counter("blog.admission.rejected", "endpoint", name, "reason", "quota").increment();
+                throw new ClientQuotaExceededException("Request quota of " + endpoint.getClientRate() + " per second is exceeded for " + name,
+                        Duration.ofNanos(waitNanos));
+            }
+        }
+        AdaptiveLimiter limiter = limiters.get(name);
+        if (!limiter.acquire(endpoint.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+            meterRegistry.counter("blog.admission.rejected", "endpoint", name, "reason", "overload").increment();
+            throw new OverloadedException(name + " is overloaded, " + limiter.getLimit() + " requests are running", OVERLOADED_RETRY_AFTER);
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted() || !(request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission))
+            return;
+        request.removeAttribute(ADMISSION_ATTRIBUTE);
+        admission.limiter().release(System.nanoTime() - admission.startedAt());
+    }
+
+    // With a forward-headers strategy the remote address is the one the proxy forwarded
+    private String clientOf(HttpServletRequest request) {
+        if (clientKey == BlogProperties.Admission.ClientKey.HEADER) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank())
+                return "header:" + value;
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private record Admission(AdaptiveLimiter limiter, long startedAt) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.project.blogapp.admission;
+
+/**
+ * Token bucket of one client on one endpoint, refilled at rate tokens per second up to burst.
+ */
+class ClientQuota {
+
+    private final double rate;
+
+    private final double burst;
+
+    private double tokens;
+
+    private long refilledAt = System.nanoTime();
+
+    ClientQuota(double rate, int burst) {
+        this.rate = rate;
+        this.burst = Math.max(burst, 1);
+        this.tokens = this.burst;
+    }
+
+    // 0 when a token was taken, otherwise the nanos until the next token
+    synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * rate / 1e9);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / rate * 1e9);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.project.blogapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.CacheStatsDTO;
+import com.project.blogapp.util.CursorUtils;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded caches of blog read results. Caffeine evicts with W-TinyLFU once a cache is full
+ * and expires entries after the configured time to live.
+ */
+@Component
+@Getter
+public class BlogCaches {
+
+    private final Cache<PageKey, BlogPageDTO> blogPages;
+    private final Cache<PageKey, BlogPageDTO> summaryPages;
+    private final Cache<Long, List<BlogDTO>> tagPosts;
+    private final Cache<Long, BlogDTO> posts;
+
+    // Encoded response bodies by catalog version, encoding and request URI
+    private final Cache<String, CompressedResponse> compressedResponses;
+
+    // Bumped by every eviction, tells a running load that what it read may already be stale
+    private final AtomicLong generation = new AtomicLong();
+
+    public BlogCaches(BlogProperties blogProperties) {
+        BlogProperties.Cache cache = blogProperties.getCache();
+        blogPages = build(cache);
+        summaryPages = build(cache);
+        tagPosts = build(cache);
+        posts = build(cache);
+        compressedResponses = Caffeine.newBuilder()
+                .maximumWeight(blogProperties.getCompression().getMaxCachedSize().toBytes())
+                .weigher((String key, CompressedResponse response) -> response.body().length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached value or loads and caches it. Unlike {@link Cache#get} the loader runs outside of
+     * the map lock, a JDBC call inside it would pin the carrier of a virtual thread and block every key of
+     * the same bin. A value whose load overlapped an eviction is returned but not kept.
+     */
+    public <K, V> V get(Cache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value != null)
+            return value;
+        long loadGeneration = generation.get();
+        value = loader.apply(key);
+        cache.put(key, value);
+        if (generation.get() != loadGeneration)
+            cache.asMap().remove(key, value);
+        return value;
+    }
+
+    // A new blog gets the highest id, so it only shows up on pages which have no next page
+    public void evictLastPages() {
+        evictPages(null);
+    }
+
+    public void evictBlog(Long blogId) {
+        generation.incrementAndGet();
+        posts.invalidate(blogId);
+        evictPages(blogId);
+        tagPosts.asMap().entrySet().removeIf(entry -> entry.getValue().stream().anyMatch(blog -> blogId.equals(blog.getId())));
+    }
+
+    public void evictTag(Long tagId) {
+        generation.incrementAndGet();
+        tagPosts.invalidate(tagId);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        blogPages.invalidateAll();
+        summaryPages.invalidateAll();
+        tagPosts.invalidateAll();
+        posts.invalidateAll();
+        compressedResponses.invalidateAll();
+    }
+
+    public Map<String, CacheStatsDTO> getStatistics() {
+        Map<String, CacheStatsDTO> statistics = new LinkedHashMap<>();
+        statistics.put("blogPages", toStatistics(blogPages));
+        statistics.put("summaryPages", toStatistics(summaryPages));
+        statistics.put("tagPosts", toStatistics(tagPosts));
+        statistics.put("posts", toStatistics(posts));
+        statistics.put("compressedResponses", toStatistics(compressedResponses));
+        return statistics;
+    }
+
+    private void evictPages(Long blogId) {
+        generation.incrementAndGet();
+        blogPages.asMap().entrySet().removeIf(entry -> covers(entry.getKey(), entry.getValue(), blogId));
+        summaryPages.asMap().entrySet().removeIf(entry -> covers(entry.getKey(), entry.getValue(), blogId));
+    }
+
+    // A page holds the ids after its cursor up to its last item, the last page is open ended
+    private static boolean covers(PageKey key, BlogPageDTO page, Long blogId) {
+        boolean lastPage = page.getNextCursor() == null;
+        if (blogId == null)
+            return lastPage;
+        if (blogId <= CursorUtils.decode(key.cursor()))
+            return false;
+        return lastPage || blogId <= CursorUtils.decode(page.getNextCursor());
+    }
+
+    private static CacheStatsDTO toStatistics(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private static <K, V> Cache<K, V> build(BlogProperties.Cache cache) {
+        return Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.project.blogapp.cache;
+
+import java.util.Map;
+
+/**
+ * Encoded body of a read response together with the headers needed to replay it.
+ */
+public record CompressedResponse(String contentType, Map<String, String> headers, byte[] body) {
+}
@@ -0,0 +1,172 @@
+package com.project.blogapp.cache;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.controller.BlogController;
+import com.project.blogapp.service.CatalogVersion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the cacheable blog read responses once per catalog version. The encoded body is kept in
+ * {@link BlogCaches#getCompressedResponses()} under the catalog version and replayed to every request
+ * with the same URI and accepted encoding until a write bumps the version. Conditional requests go to the controller, which
+ * answers them with 304 on its own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AllArgsConstructor
+public class CompressedResponseFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    // Preferred first, Brotli has no encoder in the JDK
+    private static final List<String> ENCODINGS = List.of(GZIP, DEFLATE);
+
+    private static final List<String> CACHEABLE_PATHS = List.of("/api/blog", "/api/blog/summaries", "/api/blog/search",
+            "/api/blog/filter", "/api/blog/tag/*", "/api/blog/{id:\\d+}");
+
+    // Headers of BlogController that describe the body and are replayed with it
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            BlogController.NEXT_CURSOR_HEADER);
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private BlogCaches blogCaches;
+
+    private CatalogVersion catalogVersion;
+
+    private BlogProperties blogProperties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()))
+            return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return CACHEABLE_PATHS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // The version is read before the body is built, a write during the request leaves an entry which is never served.
+        // Entries of older versions are not looked up anymore and age out of the size bound
+        String key = catalogVersion.get() + " " + encoding + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+        CompressedResponse cached = conditional ? null : blogCaches.getCompressedResponses().getIfPresent(key);
+        if (cached != null) {
+            write(response, encoding, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length < blogProperties.getCompression().getMinSize().toBytes()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CompressedResponse compressed = new CompressedResponse(wrapper.getContentType(), replayedHeaders(wrapper),
+                compress(body, encoding));
+        blogCaches.getCompressedResponses().put(key, compressed);
+        write(response, encoding, compressed);
+    }
+
+    // The first acceptable encoding of ENCODINGS, a quality of 0 refuses an encoding
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return null;
+        Set<String> accepted = new HashSet<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++)
+                refused |= tokens[i].trim().matches("q=0(\\.0*)?");
+            if (!refused)
+                accepted.add(tokens[0].trim().toLowerCase(Locale.ROOT));
+        }
+        for (String encoding : ENCODINGS) {
+            if (accepted.contains(encoding) || accepted.contains("*"))
+                return encoding;
+        }
+        return null;
+    }
+
+    static byte[] compress(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        // Compression runs once per version, the strongest level is worth it
+        if (GZIP.equals(encoding)) {
+            try (OutputStream out = new LeveledGZIPOutputStream(bytes)) {
+                out.write(body);
+            }
+        } else {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(body);
+            } finally {
+                deflater.end();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // The encoded body is a different representation, its entity tag only matches weakly
+    private static Map<String, String> replayedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null)
+                headers.put(name, name.equals(HttpHeaders.ETAG) && !value.startsWith("W/") ? "W/" + value : value);
+        }
+        return headers;
+    }
+
+    private static void write(HttpServletResponse response, String encoding, CompressedResponse compressed) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(compressed.contentType());
+        compressed.headers().forEach(response::setHeader);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        response.setContentLength(compressed.body().length);
+        response.getOutputStream().write(compressed.body());
+    }
+
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        LeveledGZIPOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.project.blogapp.cache;
+
+public record PageKey(String cursor, Integer limit) {
+}
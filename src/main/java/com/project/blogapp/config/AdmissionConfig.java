@@ -0,0 +1,22 @@
+package com.project.blogapp.config;
+
+import com.project.blogapp.admission.AdmissionInterceptor;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "blog.admission", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private AdmissionInterceptor admissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor).addPathPatterns("/api/blog/**");
+    }
+
+}
@@ -0,0 +1,296 @@
+package com.project.blogapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "blog")
+@Getter
+@Setter
+public class BlogProperties {
+
+    private Pagination pagination = new Pagination();
+
+    private Summary summary = new Summary();
+
+    private Cache cache = new Cache();
+
+    private Batch batch = new Batch();
+
+    private Export export = new Export();
+
+    private Execution execution = new Execution();
+
+    private Tags tags = new Tags();
+
+    private Sql sql = new Sql();
+
+    private Write write = new Write();
+
+    private Compression compression = new Compression();
+
+    private ContentStore contentStore = new ContentStore();
+
+    private Routing routing = new Routing();
+
+    private Serialization serialization = new Serialization();
+
+    private Admission admission = new Admission();
+
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        private int defaultSize = 20;
+
+        // Hard upper bound, requests asking for more are clamped to this value
+        private int maxSize = 100;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Summary {
+
+        // Maximum number of content characters kept, the summary column must fit this plus the ellipsis
+        private int length = 100;
+
+        private boolean backfillEnabled = true;
+
+        private int backfillChunkSize = 500;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        // Entry bound of every single cache
+        private long maximumSize = 1000;
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        // Identical reads which miss the caches at the same time share one load
+        private boolean coalesce = true;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Compression {
+
+        // Compresses blog read responses once per catalog version and serves the stored bytes afterwards
+        private boolean enabled = true;
+
+        // Smaller bodies are sent as they are, compressing them saves less than the header costs
+        private DataSize minSize = DataSize.ofKilobytes(1);
+
+        // Bound of the compressed bodies held in memory
+        private DataSize maxCachedSize = DataSize.ofMegabytes(64);
+
+    }
+
+    @Getter
+    @Setter
+    public static class ContentStore {
+
+        // Blog bodies are kept once per SHA-256 in memory-mapped segment files, blog_content only references them
+        private boolean enabled = false;
+
+        private String directory = "data/content";
+
+        // Size of a segment file, a larger body gets a segment of its own
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        private Duration compactionInterval = Duration.ofHours(1);
+
+        // Unreferenced bodies younger than this are kept, their transaction may not have committed yet
+        private Duration compactionGracePeriod = Duration.ofMinutes(10);
+
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+
+        // Blogs held in memory at once while exporting
+        private int chunkSize = 100;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        // Blogs committed per transaction, best kept a multiple of hibernate.jdbc.batch_size
+        private int chunkSize = 500;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Write {
+
+        // POST /api/blog only enqueues the blog, a single writer commits the queue in groups
+        private boolean async = false;
+
+        // Submissions beyond this are rejected with 429 until the writer catches up
+        private int queueCapacity = 10000;
+
+        private int maxBatchSize = 500;
+
+        // How long the writer waits for a group to fill after its first blog arrived
+        private Duration maxLinger = Duration.ofMillis(20);
+
+        // Statuses are kept this long after the last change for GET /api/blog/writes/{id}
+        private Duration statusRetention = Duration.ofMinutes(10);
+
+    }
+
+    @Getter
+    @Setter
+    public static class Tags {
+
+        // Period of the recount against blog_tag which corrects drifted post counts
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    }
+
+    @Getter
+    @Setter
+    public static class Sql {
+
+        // Counts the SQL statements, JDBC time and fetched rows of every request
+        private boolean enabled = true;
+
+        // Debug mode, the counts are returned as X-Sql-* response headers
+        private boolean headers = false;
+
+        // Requests above one of these limits are logged as a warning
+        private int maxStatements = 20;
+
+        private Duration maxJdbcTime = Duration.ofMillis(500);
+
+        private long maxRows = 5000;
+
+        // The same statement executed this often within one request is reported as a possible N+1
+        private int repeatedStatementThreshold = 5;
+
+    }
+
+    @Getter
+    @Setter
+    public static class Routing {
+
+        // Sends read-only transactions to the replicas, everything else goes to spring.datasource
+        private boolean enabled = false;
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        // Replicas further behind than this, or not reachable, are skipped until a later check
+        private Duration maxReplicationLag = Duration.ofSeconds(5);
+
+        private Duration lagCheckInterval = Duration.ofSeconds(10);
+
+        // A client reads from the primary for this long after its last write
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        @Getter
+        @Setter
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            // Returns the replication lag in seconds, without one the replica is only checked for being reachable
+            private String lagQuery;
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class Serialization {
+
+        // STREAMING writes GET /api/blog, /summaries and /tag/{id} straight from the query results with a JsonGenerator
+        private Mode mode = Mode.DTO;
+
+        public enum Mode {
+            DTO, STREAMING
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+
+        // Limits the BlogController endpoints listed in endpoints, the others are never limited
+        private boolean enabled = false;
+
+        // How the quota tells clients apart. ADDRESS uses the remote address, behind a reverse proxy that is
+        // the proxy's unless server.forward-headers-strategy is set. HEADER uses client-header, e.g. an API
+        // key, and falls back to the address for requests without it
+        private ClientKey clientKey = ClientKey.ADDRESS;
+
+        private String clientHeader = "X-Api-Key";
+
+        // Keyed by the name of the BlogController method, e.g. getAllBlogPosts
+        private Map<String, Endpoint> endpoints = new HashMap<>();
+
+        @Getter
+        @Setter
+        public static class Endpoint {
+
+            // Concurrent requests, adapted between min and max by the latency gradient
+            private int initialLimit = 20;
+
+            private int minLimit = 2;
+
+            private int maxLimit = 200;
+
+            // Requests waiting for a slot, beyond that or after max-wait they are answered with 503
+            private int maxQueue = 50;
+
+            private Duration maxWait = Duration.ofMillis(100);
+
+            // Requests per second of one client, answered with 429 above it. 0 switches the quota off
+            private double clientRate = 0;
+
+            private int clientBurst = 20;
+
+        }
+
+        public enum ClientKey {
+            ADDRESS, HEADER
+        }
+
+    }
+
+    @Getter
+    @Setter
+    public static class Execution {
+
+        // VIRTUAL runs requests and async work on virtual threads and needs Java 21 or newer
+        private Mode mode = Mode.PLATFORM;
+
+        public enum Mode {
+            PLATFORM, VIRTUAL
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.project.blogapp.config;
+
+import com.project.blogapp.routing.ReadReplicaRoutingDataSource;
+import com.project.blogapp.routing.ReplicaSet;
+import com.project.blogapp.service.CatalogVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single data source with one that routes read-only transactions to the replicas of
+ * blog.routing.replicas and everything else to spring.datasource. The primary and the replicas are
+ * pools with the spring.datasource.hikari settings, each named and reporting its own hikaricp metrics.
+ * The routing data source is the only DataSource bean, the SQL statistics count the statements of all
+ * of them once, and the ReplicaSet bean closes every pool on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(BlogProperties blogProperties, DataSourceProperties dataSourceProperties,
+                                 Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null)
+            primary.setPoolName("primary");
+        // Boot's pool metrics cannot unwrap the primary behind the routing data source
+        meterRegistry.ifAvailable(registry -> primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        List<BlogProperties.Routing.Replica> configured = blogProperties.getRouting().getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            BlogProperties.Routing.Replica replica = configured.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("replica-" + i);
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new ReplicaSet.Replica(dataSource.getPoolName(), dataSource, replica.getLagQuery()));
+        }
+        return new ReplicaSet(primary, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet, CatalogVersion catalogVersion, BlogProperties blogProperties) {
+        // The connection is taken on the first statement, after the transaction has declared itself read-only
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(replicaSet.getPrimary(), replicaSet,
+                catalogVersion, blogProperties.getRouting().getMaxReplicationLag()));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.project.blogapp.config;
+
+import com.project.blogapp.cache.BlogCaches;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Latency metrics next to the ones Spring Boot records by itself (http.server.requests per endpoint,
+ * spring.data.repository.invocations per repository method, hikaricp.connections.acquire for the pool
+ * wait and the Hibernate statistics). Service methods annotated with {@link io.micrometer.core.annotation.Timed}
+ * are timed as blog.service, tagged with class and method, and the read caches report their hit rates.
+ * Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder blogCacheMetrics(BlogCaches blogCaches) {
+        return meterRegistry -> {
+            CaffeineCacheMetrics.monitor(meterRegistry, blogCaches.getBlogPages(), "blogPages");
+            CaffeineCacheMetrics.monitor(meterRegistry, blogCaches.getSummaryPages(), "summaryPages");
+            CaffeineCacheMetrics.monitor(meterRegistry, blogCaches.getTagPosts(), "tagPosts");
+            CaffeineCacheMetrics.monitor(meterRegistry, blogCaches.getPosts(), "posts");
+            CaffeineCacheMetrics.monitor(meterRegistry, blogCaches.getCompressedResponses(), "compressedResponses");
+        };
+    }
+
+}
@@ -1,14 +1,37 @@
 package com.project.blogapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchResultDTO;
 import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.BulkTagDTO;
+import com.project.blogapp.dto.StreamedPageDTO;
+import com.project.blogapp.dto.TagUpdateResultDTO;
+import com.project.blogapp.dto.WriteStatusDTO;
+import com.project.blogapp.search.TagFilter;
 import com.project.blogapp.service.BlogService;
+import com.project.blogapp.service.BlogWriteQueue;
+import com.project.blogapp.service.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/blog")
@@ -16,20 +39,65 @@ import java.util.List;
 @Slf4j
 public class BlogController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private BlogService blogService;
 
+    private ObjectMapper objectMapper;
+
+    private CatalogVersion catalogVersion;
+
+    private BlogWriteQueue blogWriteQueue;
+
+    private BlogProperties blogProperties;
+
+    // In asynchronous write mode the blog is only queued, its outcome is polled from the returned location
     @PostMapping
     public ResponseEntity saveBlog(@RequestBody BlogDTO blogDTO){
+        if (blogWriteQueue.isEnabled()) {
+            WriteStatusDTO status = blogWriteQueue.submit(blogDTO);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(URI.create("/api/blog/writes/" + status.getId()));
+            return new ResponseEntity(status, headers, HttpStatus.ACCEPTED);
+        }
         blogService.saveBlog(blogDTO);
         return new ResponseEntity(HttpStatus.CREATED);
     }
 
+    @GetMapping("/writes/{id}")
+    public ResponseEntity getWriteStatus(@PathVariable(value = "id") String id){
+        return blogWriteQueue.getStatus(id)
+                .map(status -> new ResponseEntity(status, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity saveBlogs(@RequestBody List<BlogDTO> blogDTOs){
+        BatchResultDTO result = blogService.saveBlogs(blogDTOs.iterator());
+        return new ResponseEntity(result, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity saveBlogsFromStream(HttpServletRequest request) throws IOException {
+        try (MappingIterator<BlogDTO> blogDTOs = objectMapper.readerFor(BlogDTO.class).readValues(request.getInputStream())) {
+            BatchResultDTO result = blogService.saveBlogs(blogDTOs);
+            return new ResponseEntity(result, HttpStatus.OK);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity updateBlogContent(@PathVariable(value = "id") Long blogId, @RequestBody BlogDTO blogDTO){
         blogService.updateBlog(blogId, blogDTO);
         return new ResponseEntity(HttpStatus.ACCEPTED);
     }
 
+    // Only the fields present in the body change, 404 for an unknown blog and 409 when expectedVersion does not match
+    @PatchMapping("/{id}")
+    public ResponseEntity patchBlog(@PathVariable(value = "id") Long blogId, @RequestBody BlogPatchDTO blogPatchDTO){
+        blogService.patchBlog(blogId, blogPatchDTO);
+        return new ResponseEntity(HttpStatus.NO_CONTENT);
+    }
+
     @PutMapping("/{id}/tag/{tagId}")
     public ResponseEntity addTag(@PathVariable(value = "id") Long blogId, @PathVariable(value = "tagId") Long tagId){
         blogService.addTag(blogId, tagId);
@@ -42,23 +110,121 @@ public class BlogController {
         return new ResponseEntity(HttpStatus.ACCEPTED);
     }
 
+    @PutMapping("/{id}/tags")
+    public ResponseEntity setTags(@PathVariable(value = "id") Long blogId, @RequestBody Set<Long> tagIds){
+        TagUpdateResultDTO result = blogService.setTags(blogId, tagIds);
+        return new ResponseEntity(result, HttpStatus.OK);
+    }
+
+    @PutMapping("/tags")
+    public ResponseEntity tagBlogs(@RequestBody BulkTagDTO bulkTagDTO){
+        TagUpdateResultDTO result = blogService.tagBlogs(bulkTagDTO.getBlogIds(), bulkTagDTO.getTagIds());
+        return new ResponseEntity(result, HttpStatus.OK);
+    }
+
     @GetMapping("/summaries")
-    public ResponseEntity getAllSummaries(){
-        List<BlogDTO> blogPostSummaries = blogService.getAllBlogPostsWithSummaries();
-        return new ResponseEntity(blogPostSummaries, HttpStatus.OK);
+    public ResponseEntity getAllSummaries(@RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                          WebRequest request, HttpServletResponse response) throws IOException {
+        if (isNotModified(request))
+            return null;
+        if (isStreaming())
+            return writeStreamed(blogService.streamBlogPostsWithSummaries(cursor, limit), response);
+        BlogPageDTO blogPostSummaries = blogService.getBlogPostsWithSummaries(cursor, limit);
+        return new ResponseEntity(blogPostSummaries.getItems(), pageHeaders(blogPostSummaries), HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity getAllBlogPosts(){
-        List<BlogDTO> blogs = blogService.getAllBlogPosts();
+    public ResponseEntity getAllBlogPosts(@RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                          WebRequest request, HttpServletResponse response) throws IOException {
+        if (isNotModified(request))
+            return null;
+        if (isStreaming())
+            return writeStreamed(blogService.streamBlogPosts(cursor, limit), response);
+        BlogPageDTO blogs = blogService.getBlogPosts(cursor, limit);
+        return new ResponseEntity(blogs.getItems(), pageHeaders(blogs), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBlogPosts(WebRequest request){
+        if (isNotModified(request))
+            return null;
+        StreamingResponseBody body = blogService::exportBlogPosts;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity getBlogPost(@PathVariable(value = "id") Long blogId, WebRequest request){
+        if (isNotModified(request))
+            return null;
+        BlogDTO blog = blogService.getBlogPost(blogId);
+        return new ResponseEntity(blog, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity searchBlogPosts(@RequestParam(value = "q") String query,
+                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                          WebRequest request){
+        if (isNotModified(request))
+            return null;
+        List<BlogDTO> blogs = blogService.searchBlogPosts(query, limit);
         return new ResponseEntity(blogs, HttpStatus.OK);
     }
 
+    @GetMapping("/filter")
+    public ResponseEntity getBlogPostsByTags(@RequestParam(value = "all", required = false) Set<Long> allOf,
+                                             @RequestParam(value = "any", required = false) Set<Long> anyOf,
+                                             @RequestParam(value = "none", required = false) Set<Long> noneOf,
+                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                             @RequestParam(value = "limit", required = false) Integer limit,
+                                             WebRequest request){
+        if (isNotModified(request))
+            return null;
+        BlogPageDTO blogs = blogService.getBlogPostsByTags(new TagFilter(allOf, anyOf, noneOf), cursor, limit);
+        return new ResponseEntity(blogs.getItems(), pageHeaders(blogs), HttpStatus.OK);
+    }
+
     @GetMapping("/tag/{id}")
-    public ResponseEntity getAllBlogPostsByTags(@PathVariable(value = "id") Long tagId){
+    public ResponseEntity getAllBlogPostsByTags(@PathVariable(value = "id") Long tagId, WebRequest request,
+                                                HttpServletResponse response) throws IOException {
+        if (isNotModified(request))
+            return null;
+        if (isStreaming())
+            return writeStreamed(blogService.streamAllBlogPostsByTag(tagId), response);
         List<BlogDTO> blogs = blogService.getAllBlogPostsByTag(tagId);
         return new ResponseEntity(blogs, HttpStatus.OK);
     }
 
+    // Sets ETag and Last-Modified from the catalog version, a matching request is answered with 304 without a query
+    private boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(catalogVersion.getETag(), catalogVersion.getLastModified());
+    }
+
+    private boolean isStreaming() {
+        return blogProperties.getSerialization().getMode() == BlogProperties.Serialization.Mode.STREAMING;
+    }
+
+    // The body goes to the response as it is generated, the handler returns no entity for a message converter
+    private ResponseEntity writeStreamed(StreamedPageDTO page, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (page.getNextCursor() != null)
+            response.setHeader(NEXT_CURSOR_HEADER, page.getNextCursor());
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            page.getWriter().write(generator);
+        }
+        return null;
+    }
+
+    private HttpHeaders pageHeaders(BlogPageDTO page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null)
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        return headers;
+    }
 
 }
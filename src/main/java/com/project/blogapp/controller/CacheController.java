@@ -0,0 +1,27 @@
+package com.project.blogapp.controller;
+
+import com.project.blogapp.cache.BlogCaches;
+import com.project.blogapp.dto.CacheStatsDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@AllArgsConstructor
+public class CacheController {
+
+    private BlogCaches blogCaches;
+
+    @GetMapping("/stats")
+    public ResponseEntity getStatistics(){
+        Map<String, CacheStatsDTO> statistics = blogCaches.getStatistics();
+        return new ResponseEntity(statistics, HttpStatus.OK);
+    }
+
+}
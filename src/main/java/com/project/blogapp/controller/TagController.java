@@ -0,0 +1,27 @@
+package com.project.blogapp.controller;
+
+import com.project.blogapp.dto.TagCountDTO;
+import com.project.blogapp.service.TagCounts;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@AllArgsConstructor
+public class TagController {
+
+    private TagCounts tagCounts;
+
+    @GetMapping
+    public ResponseEntity getTagCounts(){
+        List<TagCountDTO> tagCounts = this.tagCounts.getTagCounts();
+        return new ResponseEntity(tagCounts, HttpStatus.OK);
+    }
+
+}
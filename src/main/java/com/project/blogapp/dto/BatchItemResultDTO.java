@@ -0,0 +1,19 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemResultDTO {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+
+}
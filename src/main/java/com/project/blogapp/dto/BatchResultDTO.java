@@ -0,0 +1,22 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+
+    @Builder.Default
+    private List<BatchItemResultDTO> items = new ArrayList<>();
+
+}
@@ -15,5 +15,7 @@ public class BlogDTO {
     private String title;
     private String content;
     private Set<String> tags;
+    // Current version of a full post, the expected version of a PATCH
+    private Long version;
 
 }
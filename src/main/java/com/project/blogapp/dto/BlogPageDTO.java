@@ -0,0 +1,17 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BlogPageDTO {
+
+    private List<BlogDTO> items;
+    private String nextCursor;
+
+}
@@ -0,0 +1,24 @@
+package com.project.blogapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fields of a PATCH, the ones left null keep their value. With an expected version the patch only
+ * applies to the blog in exactly that version.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BlogPatchDTO {
+
+    private String title;
+    private String content;
+    private Long expectedVersion;
+
+}
@@ -0,0 +1,17 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkTagDTO {
+
+    private Set<Long> blogIds;
+    private Set<Long> tagIds;
+
+}
@@ -0,0 +1,27 @@
+package com.project.blogapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * A page of posts which is serialized straight to the response. The rows are loaded already, the
+ * next cursor is known before the first byte of the body is written.
+ */
+@Getter
+@AllArgsConstructor
+public class StreamedPageDTO {
+
+    private String nextCursor;
+    private Writer writer;
+
+    @FunctionalInterface
+    public interface Writer {
+
+        void write(JsonGenerator generator) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TagCountDTO {
+
+    private Long id;
+    private String name;
+    private long postCount;
+
+}
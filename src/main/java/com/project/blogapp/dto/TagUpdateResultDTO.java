@@ -0,0 +1,15 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TagUpdateResultDTO {
+
+    private int added;
+    private int removed;
+
+}
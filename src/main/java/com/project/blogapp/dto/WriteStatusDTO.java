@@ -0,0 +1,19 @@
+package com.project.blogapp.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WriteStatusDTO {
+
+    public enum Status { QUEUED, CREATED, FAILED }
+
+    private String id;
+    private Status status;
+    private Long blogId;
+    private String message;
+
+}
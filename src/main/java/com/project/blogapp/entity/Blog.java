@@ -2,8 +2,7 @@ package com.project.blogapp.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -12,26 +11,55 @@ import java.util.Set;
 @Table(name = "blog")
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 public class Blog {
 
+    // Pooled ids let Hibernate batch inserts, IDENTITY would force one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blog_seq")
+    @SequenceGenerator(name = "blog_seq", sequenceName = "blog_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
     private String title;
 
-    @Lob
-    private String content;
+    // Not optional, so Hibernate can hand out a proxy instead of querying blog_content with every blog
+    @OneToOne(mappedBy = "blog", fetch = FetchType.LAZY, cascade = CascadeType.ALL, optional = false)
+    private BlogContent blogContent;
+
+    private String summary;
+
+    @Version
+    private Long version;
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(name = "blog_tag",
             joinColumns = {@JoinColumn(name = "blog_id", referencedColumnName = "id")},
             inverseJoinColumns = {@JoinColumn(name = "tag_id", referencedColumnName = "id")})
-    @Fetch(FetchMode.SUBSELECT)
-    @Builder.Default
+    // Batches of blog ids, a subselect fetch would re-run the query that loaded the blogs without its limit
+    @BatchSize(size = 100)
     private Set<Tag> tags = new HashSet<>();
 
+    @Builder
+    public Blog(Long id, String title, String content, String summary, Long version, Set<Tag> tags) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.version = version;
+        this.tags = tags != null ? tags : new HashSet<>();
+        if (content != null)
+            setContent(content);
+    }
+
+    // Reading the content of a loaded blog initializes its blog_content row
+    public String getContent() {
+        return blogContent != null ? blogContent.getContent() : null;
+    }
+
+    public void setContent(String content) {
+        if (blogContent == null) {
+            blogContent = new BlogContent();
+            blogContent.setBlog(this);
+        }
+        blogContent.setContent(content);
+    }
 
 }
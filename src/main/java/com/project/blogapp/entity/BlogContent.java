@@ -0,0 +1,31 @@
+package com.project.blogapp.entity;
+
+import com.project.blogapp.entity.converter.StoredContentConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Body of a blog in its own table, sharing the id of its blog. Loaded only by the reads which
+ * return the full content.
+ */
+@Entity
+@Table(name = "blog_content")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BlogContent {
+
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blog_id")
+    private Blog blog;
+
+    // The body itself, or its content store reference when the store is enabled
+    @Lob
+    @Convert(converter = StoredContentConverter.class)
+    private String content;
+
+}
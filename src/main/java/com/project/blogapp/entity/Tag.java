@@ -1,5 +1,6 @@
 package com.project.blogapp.entity;
 
+import com.project.blogapp.entity.listener.TagDictionaryListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tag")
+@EntityListeners(TagDictionaryListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,7 +18,8 @@ import java.util.Set;
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_seq")
+    @SequenceGenerator(name = "tag_seq", sequenceName = "tag_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
 
 
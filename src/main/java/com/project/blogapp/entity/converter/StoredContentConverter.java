@@ -0,0 +1,52 @@
+package com.project.blogapp.entity.converter;
+
+import com.project.blogapp.store.ContentStore;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Writes blog bodies to the {@link ContentStore} when it is enabled and keeps only their reference in
+ * the content column. Rows written before the store was enabled still hold the body itself and are
+ * read as they are. A body kept inline which starts like a reference, or like the inline marker, is
+ * written behind {@link ContentStore#INLINE_PREFIX} so it is never resolved through the store.
+ */
+// The store is looked up lazily, converters are created together with the entity manager factory
+@Converter
+public class StoredContentConverter implements AttributeConverter<String, String> {
+
+    private final ObjectProvider<ContentStore> contentStore;
+
+    public StoredContentConverter(ObjectProvider<ContentStore> contentStore) {
+        this.contentStore = contentStore;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String content) {
+        ContentStore store = contentStore.getIfAvailable();
+        if (content == null)
+            return null;
+        if (store == null)
+            return escape(content);
+        return store.put(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        if (column != null && column.startsWith(ContentStore.INLINE_PREFIX))
+            return column.substring(ContentStore.INLINE_PREFIX.length());
+        if (!ContentStore.isReference(column))
+            return column;
+        ContentStore store = contentStore.getIfAvailable();
+        if (store == null)
+            throw new IllegalStateException("Blog content is kept in the content store, blog.content-store.enabled has to be true");
+        return store.getString(column);
+    }
+
+    private static String escape(String content) {
+        if (content.startsWith(ContentStore.REFERENCE_PREFIX) || content.startsWith(ContentStore.INLINE_PREFIX))
+            return ContentStore.INLINE_PREFIX + content;
+        return content;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.project.blogapp.entity.listener;
+
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.service.TagDictionary;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// The dictionary is looked up lazily, it depends on the repository which is built after the entity manager factory
+@AllArgsConstructor
+public class TagDictionaryListener {
+
+    private ObjectProvider<TagDictionary> tagDictionary;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Tag tag) {
+        afterCommit(() -> tagDictionary.getObject().put(tag));
+    }
+
+    @PostRemove
+    public void onRemove(Tag tag) {
+        Long tagId = tag.getId();
+        afterCommit(() -> tagDictionary.getObject().remove(tagId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
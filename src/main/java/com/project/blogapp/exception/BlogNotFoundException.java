@@ -0,0 +1,9 @@
+package com.project.blogapp.exception;
+
+public class BlogNotFoundException extends RuntimeException {
+
+    public BlogNotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.project.blogapp.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ClientQuotaExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ClientQuotaExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.project.blogapp.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class OverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+}
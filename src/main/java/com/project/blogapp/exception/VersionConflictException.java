@@ -0,0 +1,9 @@
+package com.project.blogapp.exception;
+
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+
+}
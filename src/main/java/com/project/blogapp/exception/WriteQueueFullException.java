@@ -0,0 +1,9 @@
+package com.project.blogapp.exception;
+
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+
+}
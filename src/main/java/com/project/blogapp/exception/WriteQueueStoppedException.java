@@ -0,0 +1,9 @@
+package com.project.blogapp.exception;
+
+public class WriteQueueStoppedException extends RuntimeException {
+
+    public WriteQueueStoppedException(String message) {
+        super(message);
+    }
+
+}
@@ -1,6 +1,13 @@
 package com.project.blogapp.handler;
 
 import com.project.blogapp.dto.ErrorDTO;
+import com.project.blogapp.exception.BlogNotFoundException;
+import com.project.blogapp.exception.ClientQuotaExceededException;
+import com.project.blogapp.exception.OverloadedException;
+import com.project.blogapp.exception.VersionConflictException;
+import com.project.blogapp.exception.WriteQueueFullException;
+import com.project.blogapp.exception.WriteQueueStoppedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -8,15 +15,70 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @ControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public final ResponseEntity handleIllegalArguments(IllegalArgumentException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        return new ResponseEntity(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BlogNotFoundException.class)
+    public final ResponseEntity handleBlogNotFound(BlogNotFoundException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        return new ResponseEntity(errorDetails, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public final ResponseEntity handleVersionConflict(VersionConflictException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        return new ResponseEntity(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    // Clients are asked to retry once the writer had time to drain the queue
+    @ExceptionHandler(WriteQueueFullException.class)
+    public final ResponseEntity handleWriteQueueFull(WriteQueueFullException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity(errorDetails, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(WriteQueueStoppedException.class)
+    public final ResponseEntity handleWriteQueueStopped(WriteQueueStoppedException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity(errorDetails, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ClientQuotaExceededException.class)
+    public final ResponseEntity handleClientQuotaExceeded(ClientQuotaExceededException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        return new ResponseEntity(errorDetails, retryAfter(e.getRetryAfter()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public final ResponseEntity handleOverloaded(OverloadedException e, WebRequest request){
+        ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
+        return new ResponseEntity(errorDetails, retryAfter(e.getRetryAfter()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity handleExceptions(Exception e, WebRequest request){
         ErrorDTO errorDetails = new ErrorDTO(LocalDateTime.now(), e.getMessage(), request.getDescription(false));
         return new ResponseEntity(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Retry-After counts whole seconds, rounded up so clients do not come back too early
+    private static HttpHeaders retryAfter(Duration retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        return headers;
+    }
+
 }
@@ -0,0 +1,41 @@
+package com.project.blogapp.job;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.store.ContentStore;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Drops content store bodies which no blog refers to anymore, left behind by updated and deleted posts.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.content-store", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class ContentStoreCompactionJob {
+
+    private BlogRepository blogRepository;
+
+    private ContentStore contentStore;
+
+    private BlogProperties blogProperties;
+
+    @Scheduled(fixedDelayString = "${blog.content-store.compaction-interval:PT1H}",
+            initialDelayString = "${blog.content-store.compaction-interval:PT1H}")
+    public void compact() {
+        List<String> references = blogRepository.getContentStoreReferences();
+        try {
+            contentStore.compact(references, blogProperties.getContentStore().getCompactionGracePeriod());
+        } catch (IOException e) {
+            log.error("Content store compaction failed", e);
+        }
+    }
+
+}
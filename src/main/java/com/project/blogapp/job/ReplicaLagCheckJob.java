@@ -0,0 +1,28 @@
+package com.project.blogapp.job;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.routing.ReplicaSet;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes replicas which fell behind blog.routing.max-replication-lag or cannot be reached out of the
+ * read rotation and brings them back once they have caught up.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.routing", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReplicaLagCheckJob {
+
+    private ReplicaSet replicaSet;
+
+    private BlogProperties blogProperties;
+
+    @Scheduled(fixedDelayString = "${blog.routing.lag-check-interval:PT10S}")
+    public void check() {
+        replicaSet.check(blogProperties.getRouting().getMaxReplicationLag());
+    }
+
+}
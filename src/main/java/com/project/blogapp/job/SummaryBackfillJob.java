@@ -0,0 +1,52 @@
+package com.project.blogapp.job;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.service.SummaryGenerator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+@Slf4j
+public class SummaryBackfillJob implements ApplicationRunner {
+
+    private BlogRepository blogRepository;
+
+    private SummaryGenerator summaryGenerator;
+
+    private TransactionTemplate transactionTemplate;
+
+    private BlogProperties blogProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        BlogProperties.Summary summary = blogProperties.getSummary();
+        if (!summary.isBackfillEnabled())
+            return;
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> backfillChunk(summary.getBackfillChunkSize()));
+            total += updated;
+        } while (updated > 0);
+        if (total > 0)
+            log.info("Backfilled summaries of {} blog posts", total);
+    }
+
+    // Each chunk commits on its own, filled rows drop out of the next query so it always reads the first page
+    private int backfillChunk(int chunkSize) {
+        List<Blog> blogs = blogRepository.getBlogsWithoutSummary(PageRequest.of(0, chunkSize));
+        blogs.forEach(blog -> blog.setSummary(summaryGenerator.summarize(blog.getContent())));
+        return blogs.size();
+    }
+
+}
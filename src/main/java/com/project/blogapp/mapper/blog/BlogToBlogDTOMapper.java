@@ -4,16 +4,23 @@ import com.project.blogapp.dto.BlogDTO;
 import com.project.blogapp.entity.Blog;
 import com.project.blogapp.entity.Tag;
 import com.project.blogapp.mapper.CustomMapper;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.service.TagDictionary;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Component
+@AllArgsConstructor
 public class BlogToBlogDTOMapper implements CustomMapper<Blog, BlogDTO> {
+
+    private TagDictionary tagDictionary;
     @Override
     public BlogDTO map(Blog blog) {
         return BlogDTO.builder()
@@ -21,23 +28,36 @@ public class BlogToBlogDTOMapper implements CustomMapper<Blog, BlogDTO> {
                 .title(blog.getTitle())
                 .content(blog.getContent())
                 .tags(populateTags(blog))
+                .version(blog.getVersion())
                 .build();
     }
 
 
-    public BlogDTO mapWithSummary(Blog blog){
+    // Tags resolved up front for a whole page, the tag collection of the blog stays uninitialized
+    public BlogDTO mapWithTags(Blog blog, Set<String> tags){
         return BlogDTO.builder()
                 .id(blog.getId())
                 .title(blog.getTitle())
-                .content(blog.getContent().substring(0, 100).concat("..."))
-                .tags(populateTags(blog))
+                .content(blog.getContent())
+                .tags(tags != null ? tags : new HashSet<>())
+                .version(blog.getVersion())
+                .build();
+    }
+
+    public BlogDTO mapWithSummary(BlogSummaryView summaryView, Set<String> tags){
+        return BlogDTO.builder()
+                .id(summaryView.getId())
+                .title(summaryView.getTitle())
+                .content(summaryView.getSummary())
+                .tags(tags != null ? tags : new HashSet<>())
                 .build();
     }
 
     private Set<String> populateTags(Blog blog) {
         Set<Tag> tags = blog.getTags();
         if (!CollectionUtils.isEmpty(tags))
-            return tags.stream().map(Tag::getTag_name).collect(Collectors.toSet());
+            return tags.stream().map(tag -> tagDictionary.getName(tag.getId())).filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(TreeSet::new));
         return new HashSet<String>();
     }
 }
@@ -1,19 +1,74 @@
 package com.project.blogapp.repository;
 
-import com.project.blogapp.dto.BlogDTO;
 import com.project.blogapp.entity.Blog;
+import com.project.blogapp.repository.projection.BlogContentView;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagLink;
+import com.project.blogapp.repository.projection.BlogTagView;
+import com.project.blogapp.repository.projection.TagCountView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BlogRepository extends JpaRepository<Blog, Long> {
+public interface BlogRepository extends JpaRepository<Blog, Long>, BlogTagRepository {
 
-/*    @Query("select new com.project.blogapp.entity.Blog(b.id, b.title, concat(substring(concat(b.content,'') , 1, 100), '...'), b.tags) from Blog b")
-    List<Blog> getAllBlogPostsBySummaries();*/
+    @Query("select b.id as id, b.title as title, b.summary as summary from Blog b where b.id > :afterId order by b.id")
+    List<BlogSummaryView> getBlogSummaryPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("select b from Blog b left join b.tags t where t.id = :id")
+    @Query("select b.id as id, b.title as title, b.summary as summary from Blog b where b.id in :ids")
+    List<BlogSummaryView> getBlogSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id as id, b.title as title, c.content as content from Blog b join b.blogContent c where b.id > :afterId order by b.id")
+    List<BlogContentView> getBlogContentPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select b from Blog b join fetch b.blogContent where b.summary is null order by b.id")
+    List<Blog> getBlogsWithoutSummary(Pageable pageable);
+
+    @Query("select b.id as blogId, t.id as tagId from Blog b join b.tags t where b.id in :ids")
+    List<BlogTagView> getTagIdsByBlogIds(@Param("ids") Collection<Long> ids);
+
+    // Ordered by blog id, the streaming serializer looks up the links of a blog by binary search
+    @Query("select new com.project.blogapp.repository.projection.BlogTagLink(b.id, t.id) from Blog b join b.tags t where b.id in :ids order by b.id")
+    List<BlogTagLink> getTagLinksByBlogIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id from Blog b")
+    List<Long> getAllBlogIds();
+
+    @Query("select b.id as blogId, t.id as tagId from Blog b join b.tags t")
+    List<BlogTagView> getAllBlogTags();
+
+    @Query("select t.id as tagId, count(b) as postCount from Blog b join b.tags t group by t.id")
+    List<TagCountView> getPostCountsByTag();
+
+    @Query("select b from Blog b join fetch b.blogContent where b.id > :afterId order by b.id")
+    List<Blog> getBlogPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Raw column values, the entity would resolve references through the content store
+    @Query(value = "select cast(content as char(71)) from blog_content where content like 'sha256:%'", nativeQuery = true)
+    List<String> getContentStoreReferences();
+
+    @Query("select b from Blog b join fetch b.blogContent where b.id = :id")
+    Optional<Blog> getBlogWithContentById(@Param("id") Long id);
+
+    @Query("select b from Blog b join fetch b.blogContent left join b.tags t where t.id = :id")
     List<Blog> getAllBlogsByTagId(@Param("id") Long id);
 
+    // Null fields keep their value, the version check is skipped without an expected version. Returns 0 for an
+    // unknown blog and for a version mismatch alike
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Blog b set b.title = coalesce(:title, b.title), b.summary = coalesce(:summary, b.summary), "
+            + "b.version = b.version + 1 where b.id = :id and (:expectedVersion is null or b.version = :expectedVersion)")
+    int patchBlog(@Param("id") Long id, @Param("title") String title, @Param("summary") String summary,
+                  @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BlogContent c set c.content = :content where c.id = :id")
+    int updateContent(@Param("id") Long id, @Param("content") String content);
+
 }
@@ -0,0 +1,16 @@
+package com.project.blogapp.repository;
+
+import java.util.Collection;
+
+/**
+ * Single statement writes on the blog_tag join table, the blogs themselves are never loaded.
+ * Every method returns the number of links created or removed.
+ */
+public interface BlogTagRepository {
+
+    // Unknown blog or tag ids select no row and links already present are skipped
+    int linkTags(Collection<Long> blogIds, Collection<Long> tagIds);
+
+    int unlinkTags(Long blogId, Collection<Long> tagIds);
+
+}
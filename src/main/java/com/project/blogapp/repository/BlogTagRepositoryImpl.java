@@ -0,0 +1,58 @@
+package com.project.blogapp.repository;
+
+import com.project.blogapp.entity.Blog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public class BlogTagRepositoryImpl implements BlogTagRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int linkTags(Collection<Long> blogIds, Collection<Long> tagIds) {
+        return execute(entityManager.createNativeQuery(
+                        "insert ignore into blog_tag (blog_id, tag_id) select b.id, t.id from blog b join tag t on t.id in (:tagIds) where b.id in (:blogIds)")
+                .setParameter("blogIds", blogIds)
+                .setParameter("tagIds", tagIds), blogIds);
+    }
+
+    @Override
+    @Transactional
+    public int unlinkTags(Long blogId, Collection<Long> tagIds) {
+        return execute(entityManager.createNativeQuery("delete from blog_tag where blog_id = :blogId and tag_id in (:tagIds)")
+                .setParameter("blogId", blogId)
+                .setParameter("tagIds", tagIds), List.of(blogId));
+    }
+
+    // Pending changes go out first. Other entities of the caller stay managed, only the given blogs are
+    // reloaded when they are in the persistence context with their tags loaded, those tag sets would be stale
+    private int execute(Query query, Collection<Long> blogIds) {
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        if (updated > 0)
+            refreshLoadedTags(blogIds);
+        return updated;
+    }
+
+    private void refreshLoadedTags(Collection<Long> blogIds) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Blog.class);
+        for (Long blogId : blogIds) {
+            // Looked up in the persistence context only, a blog which is not loaded is not queried
+            Object entity = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(blogId, persister));
+            if (entity instanceof Blog blog && Hibernate.isInitialized(blog.getTags()))
+                entityManager.refresh(blog);
+        }
+    }
+
+}
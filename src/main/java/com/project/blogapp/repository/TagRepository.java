@@ -12,4 +12,8 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     @Query("select t from Tag  t where t.id in :idS")
     List<Tag> getListByIds(@Param("idS") List<Long> idS);
 */
+
+    @Query("select t from Tag t where t.tag_name = :name order by t.id")
+    List<Tag> getTagsByName(@Param("name") String name);
+
 }
@@ -0,0 +1,11 @@
+package com.project.blogapp.repository.projection;
+
+public interface BlogContentView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+
+}
@@ -0,0 +1,9 @@
+package com.project.blogapp.repository.projection;
+
+public interface BlogTagView {
+
+    Long getBlogId();
+
+    Long getTagId();
+
+}
@@ -0,0 +1,9 @@
+package com.project.blogapp.repository.projection;
+
+public interface TagCountView {
+
+    Long getTagId();
+
+    Long getPostCount();
+
+}
@@ -0,0 +1,54 @@
+package com.project.blogapp.routing;
+
+import com.project.blogapp.service.CatalogVersion;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to a replica and every other connection to the
+ * primary. Reads stay on the primary while the current request requires it and for the tolerated
+ * replication lag after a write of this instance, the read caches would otherwise keep what a
+ * replica returned before the write arrived there. Has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, the read-only flag is only
+ * known once the transaction has begun.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+
+    private final CatalogVersion catalogVersion;
+
+    private final Duration maxReplicationLag;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaSet replicaSet, CatalogVersion catalogVersion,
+                                        Duration maxReplicationLag) {
+        this.replicaSet = replicaSet;
+        this.catalogVersion = catalogVersion;
+        this.maxReplicationLag = maxReplicationLag;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaSet.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    // The real time of the last write, the Last-Modified header value is rounded and not meant for this
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || RoutingContext.isPrimaryRequired()
+                || System.currentTimeMillis() - catalogVersion.getLastWriteMillis() < maxReplicationLag.toMillis())
+            return PRIMARY;
+        ReplicaSet.Replica replica = replicaSet.next();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.project.blogapp.routing;
+
+import com.project.blogapp.config.BlogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a client on the primary after its own writes. A modifying request runs on the primary and
+ * hands out a cookie with its time, requests carrying a cookie younger than
+ * blog.routing.read-your-writes-window read from the primary as well. The cookie lives in the client,
+ * so this holds across application instances.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.routing", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "blog-last-write";
+
+    private BlogProperties blogProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration window = blogProperties.getRouting().getReadYourWritesWindow();
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+        // Set before the chain runs, the response may be committed once it returns
+        if (write) {
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()));
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (write || wroteRecently(request, window))
+            RoutingContext.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    private static boolean wroteRecently(HttpServletRequest request, Duration window) {
+        if (request.getCookies() == null)
+            return false;
+        for (Cookie cookie : request.getCookies()) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() - Long.parseLong(cookie.getValue()) < window.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.project.blogapp.routing;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas and whether each of them passed the last lag check. Reads are spread round robin
+ * over the available ones. The pool of the primary is kept here as well, it sits behind the routing
+ * data source where nothing else would close it.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    // Null when the primary is owned by someone else
+    @Getter
+    private final DataSource primary;
+
+    @Getter
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(List<Replica> replicas) {
+        this(null, replicas);
+    }
+
+    public ReplicaSet(DataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    // Null when no replica is available
+    public Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable())
+                return replica;
+        }
+        return null;
+    }
+
+    public void check(Duration maxReplicationLag) {
+        for (Replica replica : replicas) {
+            boolean available;
+            try {
+                Duration lag = replica.measureLag();
+                available = lag.compareTo(maxReplicationLag) <= 0;
+                if (!available && replica.isAvailable())
+                    log.warn("Replica {} is {} s behind, reads go elsewhere until it catches up", replica.getName(), lag.toSeconds());
+            } catch (SQLException e) {
+                available = false;
+                if (replica.isAvailable())
+                    log.warn("Replica {} is not reachable, reads go elsewhere", replica.getName(), e);
+            }
+            if (available && !replica.isAvailable())
+                log.info("Replica {} is available again", replica.getName());
+            replica.setAvailable(available);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable)
+                closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable)
+            closeable.close();
+    }
+
+    @Getter
+    public static class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final String lagQuery;
+
+        // Available until a check says otherwise
+        private volatile boolean available = true;
+
+        public Replica(String name, DataSource dataSource, String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+
+        void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        // Without a lag query a reachable replica counts as up to date
+        Duration measureLag() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                if (lagQuery == null) {
+                    if (!connection.isValid(1))
+                        throw new SQLException("Connection is not valid");
+                    return Duration.ZERO;
+                }
+                try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    if (!resultSet.next() || resultSet.getObject(1) == null)
+                        throw new SQLException("Lag query returned no lag: " + lagQuery);
+                    return Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+                }
+            }
+        }
+
+    }
+
+}
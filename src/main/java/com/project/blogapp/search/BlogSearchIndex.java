@@ -0,0 +1,244 @@
+package com.project.blogapp.search;
+
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.repository.projection.BlogContentView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over blog titles and contents, ranked with BM25. Title terms count
+ * {@link #TITLE_BOOST} times as much as content terms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlogSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 3;
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final BlogRepository blogRepository;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // Fields written while a rebuild runs, by blog id. The rebuild may have read them before
+    // the write and must not overwrite them. Null when no rebuild runs, guarded by the write lock
+    private Map<Long, WrittenFields> writtenDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        setWrittenDuringRebuild(new HashMap<>());
+        try {
+            long afterId = 0L;
+            List<BlogContentView> chunk;
+            do {
+                chunk = blogRepository.getBlogContentPageAfterId(afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                chunk.forEach(blog -> indexUnwritten(blog.getId(), blog.getTitle(), blog.getContent()));
+                if (!chunk.isEmpty())
+                    afterId = chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        } finally {
+            setWrittenDuringRebuild(null);
+        }
+        log.info("Search index built with {} blog posts and {} terms", size(), termCount());
+    }
+
+    public void index(Long blogId, String title, String content) {
+        if (blogId == null)
+            return;
+        IndexedDocument document = new IndexedDocument(termFrequencies(title), termFrequencies(content));
+        lock.writeLock().lock();
+        try {
+            written(blogId, true, true);
+            putInternal(blogId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-indexes the given fields only, a null field keeps the terms indexed for it
+    public void update(Long blogId, String title, String content) {
+        lock.writeLock().lock();
+        try {
+            written(blogId, title != null, content != null);
+            IndexedDocument indexed = documents.get(blogId);
+            IndexedDocument document = new IndexedDocument(
+                    title != null || indexed == null ? termFrequencies(title) : indexed.titleTerms(),
+                    content != null || indexed == null ? termFrequencies(content) : indexed.contentTerms());
+            putInternal(blogId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long blogId) {
+        lock.writeLock().lock();
+        try {
+            written(blogId, true, true);
+            removeInternal(blogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty() || queryTerms.isEmpty())
+                return new ArrayList<>();
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Set<Long> postingList = postings.get(term);
+                if (postingList == null)
+                    continue;
+                double idf = Math.log(1 + (documents.size() - postingList.size() + 0.5) / (postingList.size() + 0.5));
+                for (Long blogId : postingList) {
+                    IndexedDocument document = documents.get(blogId);
+                    double tf = document.weightedFrequency(term);
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(blogId, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+            return scores.entrySet().stream()
+                    .map(entry -> new SearchHit(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(SearchHit::getScore).reversed().thenComparing(SearchHit::getBlogId))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexes the fields of a blog read by the rebuild that no write changed since
+    private void indexUnwritten(Long blogId, String title, String content) {
+        if (blogId == null)
+            return;
+        Map<String, Integer> titleTerms = termFrequencies(title);
+        Map<String, Integer> contentTerms = termFrequencies(content);
+        lock.writeLock().lock();
+        try {
+            WrittenFields written = writtenDuringRebuild.getOrDefault(blogId, WrittenFields.NONE);
+            if (written.title() && written.content())
+                return;
+            IndexedDocument indexed = documents.get(blogId);
+            putInternal(blogId, new IndexedDocument(
+                    written.title() && indexed != null ? indexed.titleTerms() : titleTerms,
+                    written.content() && indexed != null ? indexed.contentTerms() : contentTerms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setWrittenDuringRebuild(Map<Long, WrittenFields> written) {
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild = written;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void written(Long blogId, boolean title, boolean content) {
+        if (writtenDuringRebuild != null)
+            writtenDuringRebuild.merge(blogId, new WrittenFields(title, content), WrittenFields::or);
+    }
+
+    private void putInternal(Long blogId, IndexedDocument document) {
+        removeInternal(blogId);
+        documents.put(blogId, document);
+        totalLength += document.length();
+        document.terms().forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>()).add(blogId));
+    }
+
+    private void removeInternal(Long blogId) {
+        IndexedDocument previous = documents.remove(blogId);
+        if (previous == null)
+            return;
+        totalLength -= previous.length();
+        for (String term : previous.terms()) {
+            Set<Long> postingList = postings.get(term);
+            postingList.remove(blogId);
+            if (postingList.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.tokenize(text).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        return frequencies;
+    }
+
+    private record WrittenFields(boolean title, boolean content) {
+
+        static final WrittenFields NONE = new WrittenFields(false, false);
+
+        WrittenFields or(WrittenFields other) {
+            return new WrittenFields(title || other.title, content || other.content);
+        }
+
+    }
+
+    private record IndexedDocument(Map<String, Integer> titleTerms, Map<String, Integer> contentTerms) {
+
+        double weightedFrequency(String term) {
+            return TITLE_BOOST * titleTerms.getOrDefault(term, 0) + contentTerms.getOrDefault(term, 0);
+        }
+
+        long length() {
+            return TITLE_BOOST * sum(titleTerms) + sum(contentTerms);
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new HashSet<>(titleTerms.keySet());
+            terms.addAll(contentTerms.keySet());
+            return terms;
+        }
+
+        private static long sum(Map<String, Integer> frequencies) {
+            return frequencies.values().stream().mapToLong(Integer::longValue).sum();
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.project.blogapp.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+
+    private final Long blogId;
+    private final double score;
+
+}
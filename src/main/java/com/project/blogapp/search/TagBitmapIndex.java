@@ -0,0 +1,167 @@
+package com.project.blogapp.search;
+
+import com.project.blogapp.repository.BlogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmap of blog ids per tag. Tag filters are answered with bitmap and/or/andNot
+ * operations, their cost depends on the number of tags in the filter and not on how many
+ * posts carry them. The set of all blog ids is kept as well, a filter with only noneOf
+ * tags subtracts from it. Changes made while a rebuild loads the table are journaled and
+ * replayed on the loaded bitmaps before they replace the live ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TagBitmapIndex {
+
+    private final BlogRepository blogRepository;
+
+    private Map<Long, Roaring64Bitmap> blogsByTag = new HashMap<>();
+    private Roaring64Bitmap blogs = new Roaring64Bitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes made since the running rebuild started, null while none runs. Guarded by the write lock
+    private List<Change> journal;
+
+    // The application accepts requests before it is ready, writes can run while the table is loaded
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Change> changes = new ArrayList<>();
+        setJournal(changes);
+        Roaring64Bitmap loadedBlogs = new Roaring64Bitmap();
+        Map<Long, Roaring64Bitmap> loadedBlogsByTag = new HashMap<>();
+        try {
+            blogRepository.getAllBlogIds().forEach(loadedBlogs::addLong);
+            blogRepository.getAllBlogTags().forEach(blogTag ->
+                    loadedBlogsByTag.computeIfAbsent(blogTag.getTagId(), tagId -> new Roaring64Bitmap()).addLong(blogTag.getBlogId()));
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            // Every change is idempotent, one the loaded rows contain already is applied again without effect
+            changes.forEach(change -> change.apply(loadedBlogs, loadedBlogsByTag));
+            journal = null;
+            blogs = loadedBlogs;
+            blogsByTag = loadedBlogsByTag;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Tag bitmap index built with {} blog posts and {} tags, {} changes replayed",
+                loadedBlogs.getLongCardinality(), loadedBlogsByTag.size(), changes.size());
+    }
+
+    public void addBlog(Long blogId) {
+        apply((blogs, blogsByTag) -> blogs.addLong(blogId));
+    }
+
+    // Ids of blogs which do not exist are ignored, callers may pass every id a statement was given
+    public void link(Collection<Long> blogIds, Long tagId) {
+        List<Long> ids = List.copyOf(blogIds);
+        apply((blogs, blogsByTag) -> {
+            Roaring64Bitmap tagged = blogsByTag.computeIfAbsent(tagId, id -> new Roaring64Bitmap());
+            ids.stream().filter(blogs::contains).forEach(tagged::addLong);
+        });
+    }
+
+    public void unlink(Long blogId, Long tagId) {
+        apply((blogs, blogsByTag) -> {
+            Roaring64Bitmap tagged = blogsByTag.get(tagId);
+            if (tagged != null)
+                tagged.removeLong(blogId);
+        });
+    }
+
+    /**
+     * Returns the ascending ids after afterId which match the filter, at most limit of them.
+     */
+    public List<Long> query(TagFilter filter, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result = evaluate(filter);
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            PeekableLongIterator iterator = result.getLongIteratorFrom(afterId + 1);
+            while (iterator.hasNext() && ids.size() < limit)
+                ids.add(iterator.next());
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The smallest bitmaps are combined first, intersections only shrink from there
+    private Roaring64Bitmap evaluate(TagFilter filter) {
+        Roaring64Bitmap result = null;
+        List<Roaring64Bitmap> allOf = filter.allOf().stream().map(this::bitmap)
+                .sorted((first, second) -> Long.compare(first.getLongCardinality(), second.getLongCardinality()))
+                .toList();
+        for (Roaring64Bitmap tagged : allOf) {
+            if (result == null)
+                result = tagged.clone();
+            else
+                result.and(tagged);
+        }
+        if (!filter.anyOf().isEmpty()) {
+            Roaring64Bitmap union = new Roaring64Bitmap();
+            filter.anyOf().forEach(tagId -> union.or(bitmap(tagId)));
+            if (result == null)
+                result = union;
+            else
+                result.and(union);
+        }
+        if (result == null)
+            result = blogs.clone();
+        for (Long tagId : filter.noneOf())
+            result.andNot(bitmap(tagId));
+        return result;
+    }
+
+    private Roaring64Bitmap bitmap(Long tagId) {
+        Roaring64Bitmap tagged = blogsByTag.get(tagId);
+        return tagged == null ? new Roaring64Bitmap() : tagged;
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.apply(blogs, blogsByTag);
+            if (journal != null)
+                journal.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setJournal(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Change {
+
+        void apply(Roaring64Bitmap blogs, Map<Long, Roaring64Bitmap> blogsByTag);
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.project.blogapp.search;
+
+import java.util.Set;
+
+/**
+ * Tag expression of a blog filter: every tag of allOf, at least one tag of anyOf and no tag
+ * of noneOf. Empty sets do not restrict the result.
+ */
+public record TagFilter(Set<Long> allOf, Set<Long> anyOf, Set<Long> noneOf) {
+
+    public TagFilter {
+        allOf = allOf == null ? Set.of() : allOf;
+        anyOf = anyOf == null ? Set.of() : anyOf;
+        noneOf = noneOf == null ? Set.of() : noneOf;
+    }
+
+    public boolean isEmpty() {
+        return allOf.isEmpty() && anyOf.isEmpty() && noneOf.isEmpty();
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchItemResultDTO;
+import com.project.blogapp.dto.BatchResultDTO;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.mapper.blog.BlogDTOToBlogMapper;
+import com.project.blogapp.search.BlogSearchIndex;
+import com.project.blogapp.search.TagBitmapIndex;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Persists many blogs with one transaction per chunk. Hibernate batches the blog and
+ * blog_tag inserts of a chunk, items which fail validation are reported without
+ * stopping the rest.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class BlogBatchWriter {
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private BlogDTOToBlogMapper blogDTOToBlogMapper;
+
+    private TagDictionary tagDictionary;
+
+    private SummaryGenerator summaryGenerator;
+
+    private BlogSearchIndex blogSearchIndex;
+
+    private TagCounts tagCounts;
+
+    private TagBitmapIndex tagBitmapIndex;
+
+    private BlogProperties blogProperties;
+
+    public BatchResultDTO write(Iterator<BlogDTO> blogDTOs) {
+        int chunkSize = blogProperties.getBatch().getChunkSize();
+        BatchResultDTO result = new BatchResultDTO();
+        List<PendingBlog> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            BlogDTO blogDTO;
+            try {
+                if (!blogDTOs.hasNext())
+                    break;
+                blogDTO = blogDTOs.next();
+            } catch (RuntimeException e) {
+                // The input can not be read past a malformed item, the chunks before it are kept
+                addResult(result, failed(index, "Unreadable item: " + e.getMessage()));
+                break;
+            }
+            String error = validate(blogDTO);
+            if (error != null) {
+                addResult(result, failed(index++, error));
+                continue;
+            }
+            chunk.add(new PendingBlog(index++, toBlog(blogDTO), toTagIds(blogDTO)));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            writeChunk(chunk, result);
+        result.getItems().sort(Comparator.comparingInt(BatchItemResultDTO::getIndex));
+        return result;
+    }
+
+    private void writeChunk(List<PendingBlog> chunk, BatchResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(pending -> {
+                    // References have to belong to this persistence context, the tags cascade on persist
+                    pending.tagIds().forEach(tagId -> pending.blog().getTags().add(entityManager.getReference(Tag.class, tagId)));
+                    entityManager.persist(pending.blog());
+                });
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Batch chunk of {} blogs failed", chunk.size(), e);
+            chunk.forEach(pending -> addResult(result, failed(pending.index(), e.getMessage())));
+            return;
+        }
+        chunk.forEach(pending -> {
+            Blog blog = pending.blog();
+            blogSearchIndex.index(blog.getId(), blog.getTitle(), blog.getContent());
+            tagBitmapIndex.addBlog(blog.getId());
+            pending.tagIds().forEach(tagId -> {
+                tagCounts.add(tagId, 1);
+                tagBitmapIndex.link(List.of(blog.getId()), tagId);
+            });
+            addResult(result, BatchItemResultDTO.builder()
+                    .index(pending.index())
+                    .id(blog.getId())
+                    .status(BatchItemResultDTO.Status.CREATED)
+                    .build());
+        });
+    }
+
+    private String validate(BlogDTO blogDTO) {
+        if (blogDTO == null)
+            return "Item is empty";
+        if (blogDTO.getTitle() == null || blogDTO.getTitle().isBlank())
+            return "Title is empty";
+        if (blogDTO.getContent() == null || blogDTO.getContent().isBlank())
+            return "Content is empty";
+        if (blogDTO.getTags() != null) {
+            for (String tagName : blogDTO.getTags()) {
+                if (tagDictionary.getId(tagName) == null)
+                    return "Tag with name is not found: " + tagName;
+            }
+        }
+        return null;
+    }
+
+    private Blog toBlog(BlogDTO blogDTO) {
+        Blog blog = blogDTOToBlogMapper.map(blogDTO);
+        blog.setSummary(summaryGenerator.summarize(blog.getContent()));
+        return blog;
+    }
+
+    private Set<Long> toTagIds(BlogDTO blogDTO) {
+        if (blogDTO.getTags() == null)
+            return Set.of();
+        return blogDTO.getTags().stream().map(tagDictionary::getId).collect(Collectors.toSet());
+    }
+
+    private static BatchItemResultDTO failed(int index, String message) {
+        return BatchItemResultDTO.builder()
+                .index(index)
+                .status(BatchItemResultDTO.Status.FAILED)
+                .message(message)
+                .build();
+    }
+
+    private static void addResult(BatchResultDTO result, BatchItemResultDTO item) {
+        result.getItems().add(item);
+        result.setTotal(result.getTotal() + 1);
+        if (item.getStatus() == BatchItemResultDTO.Status.CREATED)
+            result.setCreated(result.getCreated() + 1);
+        else
+            result.setFailed(result.getFailed() + 1);
+    }
+
+    private record PendingBlog(int index, Blog blog, Set<Long> tagIds) {
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.project.blogapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.repository.BlogRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes every blog as one JSON line. Rows are read in keyset pages of the chunk size and each
+ * chunk is detached once written, so heap usage does not depend on the table size. A server-side
+ * cursor would depend on the driver, MySQL Connector/J buffers the whole result set by default.
+ */
+@Component
+@AllArgsConstructor
+public class BlogExporter {
+
+    private BlogRepository blogRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TagDictionary tagDictionary;
+
+    private ObjectMapper objectMapper;
+
+    private BlogProperties blogProperties;
+
+    public void export(OutputStream outputStream) {
+        int chunkSize = blogProperties.getExport().getChunkSize();
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                ObjectWriter writer = objectMapper.writerFor(BlogDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                long afterId = 0L;
+                int read;
+                do {
+                    List<Blog> chunk = blogRepository.getBlogPageAfterId(afterId, PageRequest.of(0, chunkSize));
+                    read = chunk.size();
+                    if (read > 0)
+                        afterId = chunk.get(read - 1).getId();
+                    writeChunk(chunk, writer, generator);
+                } while (read == chunkSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeChunk(List<Blog> chunk, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty())
+            return;
+        Map<Long, Set<String>> tagNames = getTagNames(chunk);
+        for (Blog blog : chunk) {
+            writer.writeValue(generator, BlogDTO.builder()
+                    .id(blog.getId())
+                    .title(blog.getTitle())
+                    .content(blog.getContent())
+                    .tags(tagNames.getOrDefault(blog.getId(), new HashSet<>()))
+                    .build());
+            generator.writeRaw('\n');
+        }
+        entityManager.clear();
+        // Flushing per chunk lets the client start reading before the export is complete
+        generator.flush();
+    }
+
+    // One blog_tag query per chunk, the tag collections of the exported entities are never initialized
+    private Map<Long, Set<String>> getTagNames(List<Blog> chunk) {
+        List<Long> blogIds = chunk.stream().map(Blog::getId).collect(Collectors.toList());
+        return tagDictionary.getTagNamesByBlog(blogRepository.getTagIdsByBlogIds(blogIds));
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.project.blogapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagLink;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes blog lists field by field with a JsonGenerator, in the shape Jackson gives a list of
+ * BlogDTO. Nothing is built per row: no BlogDTO, no tag name set, the tag names of a blog are looked up
+ * in the dictionary while walking its links and written sorted like the TreeSet of the DTO path, through
+ * one buffer per list. The generator takes its buffers from Jackson's recycler.
+ */
+@Component
+@AllArgsConstructor
+public class BlogJsonWriter {
+
+    private TagDictionary tagDictionary;
+
+    // Links have to be ordered by blog id
+    public void writeBlogs(JsonGenerator generator, List<Blog> blogs, List<BlogTagLink> links) throws IOException {
+        generator.writeStartArray();
+        List<String> tagNames = new ArrayList<>();
+        for (Blog blog : blogs)
+            writePost(generator, blog.getId(), blog.getTitle(), blog.getContent(), links, blog.getVersion(), tagNames);
+        generator.writeEndArray();
+    }
+
+    // Summaries go out in the content field like BlogToBlogDTOMapper#mapWithSummary does
+    public void writeSummaries(JsonGenerator generator, List<BlogSummaryView> summaries, List<BlogTagLink> links) throws IOException {
+        generator.writeStartArray();
+        List<String> tagNames = new ArrayList<>();
+        for (BlogSummaryView summary : summaries)
+            writePost(generator, summary.getId(), summary.getTitle(), summary.getSummary(), links, null, tagNames);
+        generator.writeEndArray();
+    }
+
+    private void writePost(JsonGenerator generator, Long id, String title, String content, List<BlogTagLink> links,
+                           Long version, List<String> tagNames) throws IOException {
+        generator.writeStartObject();
+        writeNumberField(generator, "id", id);
+        generator.writeStringField("title", title);
+        generator.writeStringField("content", content);
+        generator.writeArrayFieldStart("tags");
+        tagNames.clear();
+        for (int i = firstLink(links, id); i < links.size() && links.get(i).blogId().equals(id); i++) {
+            String tagName = tagDictionary.getName(links.get(i).tagId());
+            if (tagName != null)
+                tagNames.add(tagName);
+        }
+        tagNames.sort(null);
+        // Equal names of different tags are one element of the DTO's set
+        for (int i = 0; i < tagNames.size(); i++) {
+            if (i == 0 || !tagNames.get(i).equals(tagNames.get(i - 1)))
+                generator.writeString(tagNames.get(i));
+        }
+        generator.writeEndArray();
+        writeNumberField(generator, "version", version);
+        generator.writeEndObject();
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value != null)
+            generator.writeNumber(value);
+        else
+            generator.writeNull();
+    }
+
+    // Index of the first link of the blog, or where it would be
+    private static int firstLink(List<BlogTagLink> links, long blogId) {
+        int low = 0;
+        int high = links.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (links.get(middle).blogId() < blogId)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+}
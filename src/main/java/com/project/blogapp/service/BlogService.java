@@ -1,22 +1,53 @@
 package com.project.blogapp.service;
 
+import com.project.blogapp.dto.BatchResultDTO;
 import com.project.blogapp.dto.BlogDTO;
-
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.StreamedPageDTO;
+import com.project.blogapp.dto.TagUpdateResultDTO;
+import com.project.blogapp.search.TagFilter;
+
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 public interface BlogService {
 
     void saveBlog(BlogDTO blogDTO);
 
-    List<BlogDTO> getAllBlogPostsWithSummaries();
+    BatchResultDTO saveBlogs(Iterator<BlogDTO> blogDTOs);
+
+    BlogPageDTO getBlogPostsWithSummaries(String cursor, Integer limit);
+
+    BlogPageDTO getBlogPosts(String cursor, Integer limit);
+
+    StreamedPageDTO streamBlogPostsWithSummaries(String cursor, Integer limit);
+
+    StreamedPageDTO streamBlogPosts(String cursor, Integer limit);
+
+    BlogDTO getBlogPost(Long blogId);
 
-    List<BlogDTO> getAllBlogPosts();
+    void exportBlogPosts(OutputStream outputStream);
+
+    List<BlogDTO> searchBlogPosts(String query, Integer limit);
+
+    BlogPageDTO getBlogPostsByTags(TagFilter filter, String cursor, Integer limit);
 
     void updateBlog(Long blogId, BlogDTO blogDTO);
 
+    void patchBlog(Long blogId, BlogPatchDTO blogPatchDTO);
+
     List<BlogDTO> getAllBlogPostsByTag(Long id);
 
+    StreamedPageDTO streamAllBlogPostsByTag(Long id);
+
     void addTag(Long blogId, Long tagId);
 
     void discardTag(Long blogId, Long tagId);
+
+    TagUpdateResultDTO setTags(Long blogId, Set<Long> tagIds);
+
+    TagUpdateResultDTO tagBlogs(Set<Long> blogIds, Set<Long> tagIds);
 }
@@ -1,49 +1,181 @@
 package com.project.blogapp.service;
 
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchResultDTO;
 import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.StreamedPageDTO;
+import com.project.blogapp.dto.TagUpdateResultDTO;
 import com.project.blogapp.entity.Blog;
-import com.project.blogapp.entity.Tag;
+import com.project.blogapp.exception.BlogNotFoundException;
+import com.project.blogapp.exception.VersionConflictException;
 import com.project.blogapp.mapper.blog.BlogDTOToBlogMapper;
 import com.project.blogapp.mapper.blog.BlogToBlogDTOMapper;
 import com.project.blogapp.repository.BlogRepository;
-import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagLink;
+import com.project.blogapp.repository.projection.BlogTagView;
+import com.project.blogapp.search.BlogSearchIndex;
+import com.project.blogapp.search.SearchHit;
+import com.project.blogapp.search.TagBitmapIndex;
+import com.project.blogapp.search.TagFilter;
+import com.project.blogapp.util.CursorUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("blog.service")
 @AllArgsConstructor
 @Slf4j
 public class BlogServiceImpl implements BlogService {
 
     private BlogRepository blogRepository;
 
-    private TagRepository tagRepository;
     private BlogDTOToBlogMapper blogDTOToBlogMapper;
 
     private BlogToBlogDTOMapper blogToBlogDTOMapper;
 
+    private SummaryGenerator summaryGenerator;
+
+    private BlogSearchIndex blogSearchIndex;
+
+    private TagDictionary tagDictionary;
+
+    private BlogBatchWriter blogBatchWriter;
+
+    private BlogExporter blogExporter;
+
+    private CatalogVersion catalogVersion;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TagCounts tagCounts;
+
+    private TagBitmapIndex tagBitmapIndex;
+
+    private BlogProperties blogProperties;
+
+    private BlogJsonWriter blogJsonWriter;
+
     @Override
     public void saveBlog(BlogDTO blogDTO) {
         Blog blog = blogDTOToBlogMapper.map(blogDTO);
+        blog.setSummary(summaryGenerator.summarize(blog.getContent()));
         blogRepository.save(blog);
+        blogSearchIndex.index(blog.getId(), blog.getTitle(), blog.getContent());
+        tagBitmapIndex.addBlog(blog.getId());
+        catalogVersion.bump();
+    }
+
+    @Override
+    public BatchResultDTO saveBlogs(Iterator<BlogDTO> blogDTOs) {
+        BatchResultDTO result = blogBatchWriter.write(blogDTOs);
+        if (result.getCreated() > 0)
+            catalogVersion.bump();
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlogPageDTO getBlogPostsWithSummaries(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<BlogSummaryView> summaries = blogRepository.getBlogSummaryPageAfterId(CursorUtils.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return toPage(summaries, pageSize, BlogSummaryView::getId, page -> {
+            Map<Long, Set<String>> tagNames = getTagNames(page.stream().map(BlogSummaryView::getId).collect(Collectors.toList()));
+            return page.stream()
+                    .map(summary -> blogToBlogDTOMapper.mapWithSummary(summary, tagNames.get(summary.getId())))
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
-    public List<BlogDTO> getAllBlogPostsWithSummaries() {
-        List<Blog> blogs = blogRepository.findAll();
-        return blogs.stream().map(blogToBlogDTOMapper::mapWithSummary).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public BlogPageDTO getBlogPosts(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<Blog> blogs = blogRepository.getBlogPageAfterId(CursorUtils.decode(cursor), PageRequest.of(0, pageSize + 1));
+        // Tags of the page come from one blog_tag query, a subselect fetch would repeat the unlimited page query
+        return toPage(blogs, pageSize, Blog::getId, page -> {
+            Map<Long, Set<String>> tagNames = getTagNames(page.stream().map(Blog::getId).collect(Collectors.toList()));
+            return page.stream()
+                    .map(blog -> blogToBlogDTOMapper.mapWithTags(blog, tagNames.get(blog.getId())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StreamedPageDTO streamBlogPostsWithSummaries(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<BlogSummaryView> summaries = blogRepository.getBlogSummaryPageAfterId(CursorUtils.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return toStreamedPage(summaries, pageSize, BlogSummaryView::getId,
+                (page, links) -> generator -> blogJsonWriter.writeSummaries(generator, page, links));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StreamedPageDTO streamBlogPosts(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        List<Blog> blogs = blogRepository.getBlogPageAfterId(CursorUtils.decode(cursor), PageRequest.of(0, pageSize + 1));
+        return toStreamedPage(blogs, pageSize, Blog::getId,
+                (page, links) -> generator -> blogJsonWriter.writeBlogs(generator, page, links));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlogDTO getBlogPost(Long blogId) {
+        return blogRepository.getBlogWithContentById(blogId)
+                .map(blogToBlogDTOMapper::map)
+                .orElseThrow(() -> new RuntimeException("Blog with id is not null: " + blogId));
     }
 
     @Override
-    public List<BlogDTO> getAllBlogPosts() {
-        return blogRepository.findAll().stream().map(blogToBlogDTOMapper::map).collect(Collectors.toList());
+    public void exportBlogPosts(OutputStream outputStream) {
+        blogExporter.export(outputStream);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlogDTO> searchBlogPosts(String query, Integer limit) {
+        if (query == null || query.isBlank())
+            throw new IllegalArgumentException("Search query must not be empty");
+        List<Long> rankedIds = blogSearchIndex.search(query, resolvePageSize(limit)).stream()
+                .map(SearchHit::getBlogId)
+                .collect(Collectors.toList());
+        return getSummaries(rankedIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlogPageDTO getBlogPostsByTags(TagFilter filter, String cursor, Integer limit) {
+        if (filter == null || filter.isEmpty())
+            throw new IllegalArgumentException("Tag filter must contain at least one tag");
+        validateTags(filter.allOf());
+        validateTags(filter.anyOf());
+        validateTags(filter.noneOf());
+        int pageSize = resolvePageSize(limit);
+        List<Long> blogIds = tagBitmapIndex.query(filter, CursorUtils.decode(cursor), pageSize + 1);
+        return toPage(blogIds, pageSize, Function.identity(), this::getSummaries);
     }
 
     @Override
@@ -55,46 +187,193 @@ public class BlogServiceImpl implements BlogService {
         Blog blog = optionalBlog.get();
         blog.setContent(blogDTO.getContent());
         blog.setTitle(blogDTO.getTitle());
+        blog.setSummary(summaryGenerator.summarize(blogDTO.getContent()));
         blogRepository.save(blog);
+        blogSearchIndex.index(blog.getId(), blog.getTitle(), blog.getContent());
+        catalogVersion.bump();
     }
 
+    // Nothing is read before the update, a missing blog and a version mismatch are told apart only once no row matched.
+    // The content lives in blog_content, changing it takes a second statement in the same transaction
     @Override
+    public void patchBlog(Long blogId, BlogPatchDTO blogPatchDTO) {
+        if (blogPatchDTO.getTitle() == null && blogPatchDTO.getContent() == null)
+            throw new IllegalArgumentException("Patch must contain a title or a content");
+        String summary = blogPatchDTO.getContent() != null ? summaryGenerator.summarize(blogPatchDTO.getContent()) : null;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (blogRepository.patchBlog(blogId, blogPatchDTO.getTitle(), summary, blogPatchDTO.getExpectedVersion()) == 0) {
+                if (blogPatchDTO.getExpectedVersion() != null && blogRepository.existsById(blogId))
+                    throw new VersionConflictException("Blog with id is not in version " + blogPatchDTO.getExpectedVersion() + ": " + blogId);
+                throw new BlogNotFoundException("Blog with id is not found: " + blogId);
+            }
+            if (blogPatchDTO.getContent() != null)
+                blogRepository.updateContent(blogId, blogPatchDTO.getContent());
+        });
+        blogSearchIndex.update(blogId, blogPatchDTO.getTitle(), blogPatchDTO.getContent());
+        catalogVersion.bump();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<BlogDTO> getAllBlogPostsByTag(Long id) {
-        Optional<Tag> tag = tagRepository.findById(id);
-        if (tag.isEmpty()){
+        if (!tagDictionary.contains(id)){
             throw new RuntimeException("Tag with id is not null: " + id);
         }
         List<Blog> blogs = blogRepository.getAllBlogsByTagId(id);
         return blogs.stream().map(blogToBlogDTOMapper::map).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public StreamedPageDTO streamAllBlogPostsByTag(Long id) {
+        if (!tagDictionary.contains(id)){
+            throw new RuntimeException("Tag with id is not null: " + id);
+        }
+        List<Blog> blogs = blogRepository.getAllBlogsByTagId(id);
+        List<BlogTagLink> links = getTagLinks(blogs.stream().map(Blog::getId).collect(Collectors.toList()));
+        return new StreamedPageDTO(null, generator -> blogJsonWriter.writeBlogs(generator, blogs, links));
+    }
+
+    // Summaries in the order of the given ids
+    private List<BlogDTO> getSummaries(List<Long> blogIds) {
+        if (blogIds.isEmpty())
+            return new ArrayList<>();
+        Map<Long, BlogSummaryView> summaries = blogRepository.getBlogSummariesByIds(blogIds).stream()
+                .collect(Collectors.toMap(BlogSummaryView::getId, Function.identity()));
+        Map<Long, Set<String>> tagNames = getTagNames(blogIds);
+        return blogIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .map(summary -> blogToBlogDTOMapper.mapWithSummary(summary, tagNames.get(summary.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Set<String>> getTagNames(List<Long> blogIds) {
+        if (blogIds.isEmpty())
+            return new HashMap<>();
+        return tagDictionary.getTagNamesByBlog(blogRepository.getTagIdsByBlogIds(blogIds));
+    }
+
+    private List<BlogTagLink> getTagLinks(List<Long> blogIds) {
+        if (blogIds.isEmpty())
+            return new ArrayList<>();
+        return blogRepository.getTagLinksByBlogIds(blogIds);
+    }
+
+    // Like toPage, the rows and their tag links are loaded here and written to the response later
+    private <T> StreamedPageDTO toStreamedPage(List<T> rows, int pageSize, Function<T, Long> idExtractor,
+                                               BiFunction<List<T>, List<BlogTagLink>, StreamedPageDTO.Writer> writer) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<BlogTagLink> links = getTagLinks(page.stream().map(idExtractor).collect(Collectors.toList()));
+        return new StreamedPageDTO(hasNext ? CursorUtils.encode(idExtractor.apply(page.get(page.size() - 1))) : null,
+                writer.apply(page, links));
+    }
+
+    // Rows are fetched with one extra element which tells whether another page exists without a count query
+    private <T> BlogPageDTO toPage(List<T> rows, int pageSize, Function<T, Long> idExtractor, Function<List<T>, List<BlogDTO>> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return BlogPageDTO.builder()
+                .items(mapper.apply(page))
+                .nextCursor(hasNext ? CursorUtils.encode(idExtractor.apply(page.get(page.size() - 1))) : null)
+                .build();
+    }
+
+    private int resolvePageSize(Integer limit) {
+        BlogProperties.Pagination pagination = blogProperties.getPagination();
+        if (limit == null || limit <= 0)
+            return pagination.getDefaultSize();
+        return Math.min(limit, pagination.getMaxSize());
+    }
+
+    // Tag links are written with single statements on blog_tag, the blog itself is only read when nothing changed
     @Override
     public void addTag(Long blogId, Long tagId) {
-        blogRepository.findById(blogId).ifPresentOrElse(blog -> {
-            tagRepository.findById(tagId).ifPresentOrElse(tag -> {
-                blog.getTags().add(tag);
-                blogRepository.save(blog);
-            }, () -> {
-                throw new RuntimeException("Tag with id is not null: " + blogId);
-            });
-        }, () -> {
-            throw new RuntimeException("Blog with id is not null: " + tagId);
-        });
+        validateTags(List.of(tagId));
+        if (blogRepository.linkTags(List.of(blogId), List.of(tagId)) > 0) {
+            tagCounts.add(tagId, 1);
+            tagBitmapIndex.link(List.of(blogId), tagId);
+            catalogVersion.bump();
+        } else
+            validateBlog(blogId);
     }
 
     @Override
     public void discardTag(Long blogId, Long tagId) {
-        blogRepository.findById(blogId).ifPresentOrElse(blog -> {
-            tagRepository.findById(tagId).ifPresentOrElse(tag -> {
-                blog.getTags().remove(tag);
-                blogRepository.save(blog);
-            }, () -> {
-                throw new RuntimeException("Tag with id is not null: " + blogId);
+        validateTags(List.of(tagId));
+        if (blogRepository.unlinkTags(blogId, List.of(tagId)) > 0) {
+            tagCounts.add(tagId, -1);
+            tagBitmapIndex.unlink(blogId, tagId);
+            catalogVersion.bump();
+        } else
+            validateBlog(blogId);
+    }
+
+    // The current links are read first so the tag counts know which tags were added and removed
+    @Override
+    public TagUpdateResultDTO setTags(Long blogId, Set<Long> tagIds) {
+        if (tagIds == null)
+            throw new IllegalArgumentException("Tag ids must not be null");
+        validateTags(tagIds);
+        Set<Long> added = new HashSet<>(tagIds);
+        Set<Long> removed = new HashSet<>();
+        TagUpdateResultDTO result = transactionTemplate.execute(status -> {
+            blogRepository.getTagIdsByBlogIds(List.of(blogId)).forEach(blogTag -> {
+                if (!added.remove(blogTag.getTagId()))
+                    removed.add(blogTag.getTagId());
             });
-        }, () -> {
-            throw new RuntimeException("Blog with id is not null: " + tagId);
+            return new TagUpdateResultDTO(
+                    added.isEmpty() ? 0 : blogRepository.linkTags(List.of(blogId), added),
+                    removed.isEmpty() ? 0 : blogRepository.unlinkTags(blogId, removed));
         });
+        if (result.getAdded() + result.getRemoved() > 0) {
+            if (result.getAdded() > 0) {
+                added.forEach(tagId -> {
+                    tagCounts.add(tagId, 1);
+                    tagBitmapIndex.link(List.of(blogId), tagId);
+                });
+            }
+            removed.forEach(tagId -> {
+                tagCounts.add(tagId, -1);
+                tagBitmapIndex.unlink(blogId, tagId);
+            });
+            catalogVersion.bump();
+        } else
+            validateBlog(blogId);
+        return result;
     }
 
+    // Unknown blog ids are skipped, the result tells how many links were created
+    @Override
+    public TagUpdateResultDTO tagBlogs(Set<Long> blogIds, Set<Long> tagIds) {
+        if (blogIds == null || blogIds.isEmpty() || tagIds == null || tagIds.isEmpty())
+            throw new IllegalArgumentException("Blog ids and tag ids must not be empty");
+        validateTags(tagIds);
+        // One statement per tag, a tag's count grows by the links its statement created
+        Map<Long, Integer> addedByTag = transactionTemplate.execute(status -> tagIds.stream()
+                .collect(Collectors.toMap(Function.identity(), tagId -> blogRepository.linkTags(blogIds, List.of(tagId)))));
+        addedByTag.forEach((tagId, added) -> {
+            tagCounts.add(tagId, added);
+            if (added > 0)
+                tagBitmapIndex.link(blogIds, tagId);
+        });
+        int addedTotal = addedByTag.values().stream().mapToInt(Integer::intValue).sum();
+        if (addedTotal > 0)
+            catalogVersion.bump();
+        return new TagUpdateResultDTO(addedTotal, 0);
+    }
+
+    private void validateTags(Collection<Long> tagIds) {
+        for (Long tagId : tagIds) {
+            if (!tagDictionary.contains(tagId))
+                throw new RuntimeException("Tag with id is not null: " + tagId);
+        }
+    }
+
+    private void validateBlog(Long blogId) {
+        if (!blogRepository.existsById(blogId))
+            throw new RuntimeException("Blog with id is not null: " + blogId);
+    }
 
 }
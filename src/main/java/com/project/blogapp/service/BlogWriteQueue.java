@@ -0,0 +1,191 @@
+package com.project.blogapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchItemResultDTO;
+import com.project.blogapp.dto.BatchResultDTO;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.WriteStatusDTO;
+import com.project.blogapp.exception.WriteQueueFullException;
+import com.project.blogapp.exception.WriteQueueStoppedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group commit for single blog submissions when blog.write.async is on. Submissions wait in a bounded
+ * queue, one writer thread takes up to blog.write.max-batch-size of them, lingering at most
+ * blog.write.max-linger for a group to fill, and stores the group through {@link BlogService#saveBlogs}
+ * with one transaction per batch chunk. Throughput then grows with the group size instead of being
+ * bound by the commit latency of each post.
+ */
+@Component
+@Slf4j
+public class BlogWriteQueue {
+
+    private final BlogService blogService;
+
+    private final BlogProperties.Write properties;
+
+    private final BlockingQueue<Submission> queue;
+
+    private final Cache<String, WriteStatusDTO> statuses;
+
+    private volatile boolean running;
+
+    // Submissions share the read lock, stop takes the write lock so nothing is queued after the writer stopped
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+
+    private Thread writer;
+
+    public BlogWriteQueue(BlogService blogService, BlogProperties blogProperties) {
+        this.blogService = blogService;
+        this.properties = blogProperties.getWrite();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getStatusRetention())
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isAsync())
+            return;
+        running = true;
+        writer = new Thread(this::run, "blog-writer");
+        writer.start();
+    }
+
+    // Blogs still queued are written before the application context goes away. Anything left once the
+    // writer is gone, e.g. after it was interrupted, is marked failed instead of staying queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        if (writer != null)
+            writer.join();
+        List<Submission> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(submission -> statuses.put(submission.id(),
+                status(submission, WriteStatusDTO.Status.FAILED, null, "Blog writer stopped before the blog was written")));
+    }
+
+    public boolean isEnabled() {
+        return properties.isAsync();
+    }
+
+    public WriteStatusDTO submit(BlogDTO blogDTO) {
+        lifecycle.readLock().lock();
+        try {
+            if (!properties.isAsync())
+                throw new IllegalStateException("Asynchronous writes are not enabled");
+            // The instance is shutting down, the client can retry against another one
+            if (!running)
+                throw new WriteQueueStoppedException("Blog writer is shutting down");
+            WriteStatusDTO status = WriteStatusDTO.builder()
+                    .id(UUID.randomUUID().toString())
+                    .status(WriteStatusDTO.Status.QUEUED)
+                    .build();
+            statuses.put(status.getId(), status);
+            if (!queue.offer(new Submission(status.getId(), blogDTO))) {
+                statuses.invalidate(status.getId());
+                throw new WriteQueueFullException("Write queue is full, " + properties.getQueueCapacity() + " blogs are waiting");
+            }
+            return status;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    public Optional<WriteStatusDTO> getStatus(String id) {
+        return Optional.ofNullable(statuses.getIfPresent(id));
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Submission> group = nextGroup();
+                if (!group.isEmpty())
+                    write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Blog writer failed", e);
+            }
+        }
+    }
+
+    // Waits for a first submission, then for more until the group is full or the linger time is over
+    private List<Submission> nextGroup() throws InterruptedException {
+        List<Submission> group = new ArrayList<>();
+        Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null)
+            return group;
+        group.add(first);
+        int maxBatchSize = properties.getMaxBatchSize();
+        long deadline = System.nanoTime() + properties.getMaxLinger().toNanos();
+        while (group.size() < maxBatchSize) {
+            queue.drainTo(group, maxBatchSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatchSize || remaining <= 0)
+                break;
+            Submission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null)
+                break;
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void write(List<Submission> group) {
+        BatchResultDTO result;
+        try {
+            result = blogService.saveBlogs(group.stream().map(Submission::blogDTO).iterator());
+        } catch (RuntimeException e) {
+            log.warn("Group of {} blogs failed", group.size(), e);
+            group.forEach(submission -> statuses.put(submission.id(), status(submission, WriteStatusDTO.Status.FAILED, null, e.getMessage())));
+            return;
+        }
+        // Batch items are indexed by their position in the group
+        for (BatchItemResultDTO item : result.getItems()) {
+            Submission submission = group.get(item.getIndex());
+            WriteStatusDTO.Status status = item.getStatus() == BatchItemResultDTO.Status.CREATED
+                    ? WriteStatusDTO.Status.CREATED : WriteStatusDTO.Status.FAILED;
+            statuses.put(submission.id(), status(submission, status, item.getId(), item.getMessage()));
+        }
+    }
+
+    private static WriteStatusDTO status(Submission submission, WriteStatusDTO.Status status, Long blogId, String message) {
+        return WriteStatusDTO.builder()
+                .id(submission.id())
+                .status(status)
+                .blogId(blogId)
+                .message(message)
+                .build();
+    }
+
+    private record Submission(String id, BlogDTO blogDTO) {
+    }
+
+}
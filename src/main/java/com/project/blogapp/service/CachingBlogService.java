@@ -0,0 +1,195 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.cache.BlogCaches;
+import com.project.blogapp.cache.PageKey;
+import com.project.blogapp.dto.BatchResultDTO;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.StreamedPageDTO;
+import com.project.blogapp.dto.TagUpdateResultDTO;
+import com.project.blogapp.routing.RoutingContext;
+import com.project.blogapp.search.TagFilter;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of {@link BlogServiceImpl}. Writes evict only the entries
+ * that can contain the changed blog or tag. The catalog version is bumped again after the
+ * eviction, an entity tag handed out while stale entries were still cached must not stay valid.
+ * Identical reads missing the caches at the same time share one load through {@link SingleFlight}.
+ */
+@Service
+@Timed("blog.service")
+@Primary
+@ConditionalOnProperty(prefix = "blog.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AllArgsConstructor
+public class CachingBlogService implements BlogService {
+
+    private BlogServiceImpl blogService;
+
+    private BlogCaches blogCaches;
+
+    private TagDictionary tagDictionary;
+
+    private CatalogVersion catalogVersion;
+
+    private SingleFlight singleFlight;
+
+    @Override
+    public void saveBlog(BlogDTO blogDTO) {
+        blogService.saveBlog(blogDTO);
+        blogCaches.evictLastPages();
+        catalogVersion.bump();
+    }
+
+    @Override
+    public BatchResultDTO saveBlogs(Iterator<BlogDTO> blogDTOs) {
+        Set<String> tagNames = new HashSet<>();
+        BatchResultDTO result = blogService.saveBlogs(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return blogDTOs.hasNext();
+            }
+
+            @Override
+            public BlogDTO next() {
+                BlogDTO blogDTO = blogDTOs.next();
+                if (blogDTO != null && blogDTO.getTags() != null)
+                    tagNames.addAll(blogDTO.getTags());
+                return blogDTO;
+            }
+        });
+        blogCaches.evictLastPages();
+        tagNames.stream().map(tagDictionary::getId).filter(Objects::nonNull).forEach(blogCaches::evictTag);
+        catalogVersion.bump();
+        return result;
+    }
+
+    @Override
+    public BlogPageDTO getBlogPostsWithSummaries(String cursor, Integer limit) {
+        return blogCaches.get(blogCaches.getSummaryPages(), new PageKey(cursor, limit),
+                key -> coalesce("summaryPages", () -> blogService.getBlogPostsWithSummaries(cursor, limit), cursor, limit));
+    }
+
+    @Override
+    public BlogPageDTO getBlogPosts(String cursor, Integer limit) {
+        return blogCaches.get(blogCaches.getBlogPages(), new PageKey(cursor, limit),
+                key -> coalesce("blogPages", () -> blogService.getBlogPosts(cursor, limit), cursor, limit));
+    }
+
+    @Override
+    public BlogDTO getBlogPost(Long blogId) {
+        return blogCaches.get(blogCaches.getPosts(), blogId, key -> coalesce("posts", () -> blogService.getBlogPost(blogId), blogId));
+    }
+
+    @Override
+    public void exportBlogPosts(OutputStream outputStream) {
+        blogService.exportBlogPosts(outputStream);
+    }
+
+    @Override
+    public List<BlogDTO> searchBlogPosts(String query, Integer limit) {
+        return coalesce("search", () -> blogService.searchBlogPosts(query, limit), query, limit);
+    }
+
+    @Override
+    public BlogPageDTO getBlogPostsByTags(TagFilter filter, String cursor, Integer limit) {
+        return coalesce("filter", () -> blogService.getBlogPostsByTags(filter, cursor, limit), filter, cursor, limit);
+    }
+
+    @Override
+    public void updateBlog(Long blogId, BlogDTO blogDTO) {
+        blogService.updateBlog(blogId, blogDTO);
+        blogCaches.evictBlog(blogId);
+        catalogVersion.bump();
+    }
+
+    @Override
+    public void patchBlog(Long blogId, BlogPatchDTO blogPatchDTO) {
+        blogService.patchBlog(blogId, blogPatchDTO);
+        blogCaches.evictBlog(blogId);
+        catalogVersion.bump();
+    }
+
+    @Override
+    public List<BlogDTO> getAllBlogPostsByTag(Long id) {
+        return blogCaches.get(blogCaches.getTagPosts(), id, key -> coalesce("tagPosts", () -> blogService.getAllBlogPostsByTag(id), id));
+    }
+
+    // Streamed pages hold no DTOs to cache, their encoded responses are cached by CompressedResponseFilter.
+    // Their writers only read rows which are loaded already, so concurrent requests can share one
+    @Override
+    public StreamedPageDTO streamBlogPostsWithSummaries(String cursor, Integer limit) {
+        return coalesce("streamedSummaryPages", () -> blogService.streamBlogPostsWithSummaries(cursor, limit), cursor, limit);
+    }
+
+    @Override
+    public StreamedPageDTO streamBlogPosts(String cursor, Integer limit) {
+        return coalesce("streamedBlogPages", () -> blogService.streamBlogPosts(cursor, limit), cursor, limit);
+    }
+
+    @Override
+    public StreamedPageDTO streamAllBlogPostsByTag(Long id) {
+        return coalesce("streamedTagPosts", () -> blogService.streamAllBlogPostsByTag(id), id);
+    }
+
+    @Override
+    public void addTag(Long blogId, Long tagId) {
+        blogService.addTag(blogId, tagId);
+        blogCaches.evictTag(tagId);
+        blogCaches.evictBlog(blogId);
+        catalogVersion.bump();
+    }
+
+    @Override
+    public void discardTag(Long blogId, Long tagId) {
+        blogService.discardTag(blogId, tagId);
+        blogCaches.evictTag(tagId);
+        blogCaches.evictBlog(blogId);
+        catalogVersion.bump();
+    }
+
+    @Override
+    public TagUpdateResultDTO setTags(Long blogId, Set<Long> tagIds) {
+        TagUpdateResultDTO result = blogService.setTags(blogId, tagIds);
+        // Tag lists losing the blog are found by evictBlog, the ones gaining it by their ids
+        tagIds.forEach(blogCaches::evictTag);
+        blogCaches.evictBlog(blogId);
+        catalogVersion.bump();
+        return result;
+    }
+
+    @Override
+    public TagUpdateResultDTO tagBlogs(Set<Long> blogIds, Set<Long> tagIds) {
+        TagUpdateResultDTO result = blogService.tagBlogs(blogIds, tagIds);
+        tagIds.forEach(blogCaches::evictTag);
+        blogIds.forEach(blogCaches::evictBlog);
+        catalogVersion.bump();
+        return result;
+    }
+
+    // Loads only join a running one of the same catalog version, a read which starts after a write never gets older data.
+    // Reads pinned to the primary only join loads which run on the primary as well, a replica could still lag behind
+    private <V> V coalesce(String name, Supplier<V> loader, Object... arguments) {
+        List<Object> key = new ArrayList<>(arguments.length + 2);
+        key.add(catalogVersion.get());
+        key.add(RoutingContext.isPrimaryRequired());
+        key.addAll(Arrays.asList(arguments));
+        return singleFlight.execute(name, key, loader);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.project.blogapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the whole blog catalog, bumped on every write. Read responses use it as their
+ * entity tag so unchanged data can be revalidated without touching the database. It starts
+ * from the startup time so tags handed out before a restart do not match afterwards.
+ * The time of the last write is kept in milliseconds. Last-Modified rounds it up to the next
+ * second but never past the current time, writes within one second are told apart by the
+ * entity tag.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong lastWrite = new AtomicLong(System.currentTimeMillis());
+
+    public long get() {
+        return version.get();
+    }
+
+    public String getETag() {
+        return "\"" + Long.toHexString(version.get()) + "\"";
+    }
+
+    // Value of the Last-Modified header, never in the future
+    public long getLastModified() {
+        return Math.min(ceilToSecond(lastWrite.get()), System.currentTimeMillis());
+    }
+
+    // Wall clock time of the last write
+    public long getLastWriteMillis() {
+        return lastWrite.get();
+    }
+
+    public void bump() {
+        long now = System.currentTimeMillis();
+        lastWrite.accumulateAndGet(now, Math::max);
+        version.incrementAndGet();
+    }
+
+    private static long ceilToSecond(long millis) {
+        return (millis + 999) / 1000 * 1000;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent loads. The first caller of a key runs the load on its own thread,
+ * callers arriving while it runs wait for its result instead of sending the same query again. Nothing
+ * is kept once the load is over, a caller arriving after it starts a new one. The blog.coalescing.requests
+ * counter tells leaders from coalesced callers per load name.
+ */
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(BlogProperties blogProperties, MeterRegistry meterRegistry) {
+        this.enabled = blogProperties.getCache().isCoalesce();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the load unless an identical one is running and returns its result. An exception of the
+     * load is thrown to every caller which waited for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String name, List<?> key, Supplier<V> loader) {
+        if (!enabled)
+            return loader.get();
+        Flight flight = new Flight(name, key);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        // The load runs outside of the map, a JDBC call must not hold a bin lock of it
+        CompletableFuture<Object> running = flights.putIfAbsent(flight, result);
+        if (running != null) {
+            counter(name, "coalesced").increment();
+            return (V) await(running);
+        }
+        counter(name, "leader").increment();
+        try {
+            V value = loader.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flight, result);
+        }
+    }
+
+    public int getRunning() {
+        return flights.size();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced load", e);
+        } catch (ExecutionException e) {
+            // The waiter sees the exception of the leader as it is, e.g. a not found blog stays a 404
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private Counter counter(String name, String role) {
+        return meterRegistry.counter("blog.coalescing.requests", "name", name, "role", role);
+    }
+
+    // Lists compare by their elements, null cursors and limits included
+    private record Flight(String name, List<?> key) {
+    }
+
+}
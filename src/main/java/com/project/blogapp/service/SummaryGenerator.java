@@ -0,0 +1,38 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class SummaryGenerator {
+
+    private static final String ELLIPSIS = "...";
+
+    private BlogProperties blogProperties;
+
+    public String summarize(String content) {
+        if (content == null)
+            return null;
+        int length = blogProperties.getSummary().getLength();
+        if (content.length() <= length)
+            return content;
+
+        // Cut at the last whitespace inside the limit, a single long word is cut hard
+        int end = length;
+        while (end > 0 && !Character.isWhitespace(content.charAt(end)))
+            end--;
+        if (end == 0)
+            end = length;
+        return stripTrailingPunctuation(content.substring(0, end)).concat(ELLIPSIS);
+    }
+
+    private String stripTrailingPunctuation(String summary) {
+        int end = summary.length();
+        while (end > 0 && (Character.isWhitespace(summary.charAt(end - 1)) || ",;:".indexOf(summary.charAt(end - 1)) >= 0))
+            end--;
+        return summary.substring(0, end);
+    }
+
+}
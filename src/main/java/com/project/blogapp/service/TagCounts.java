@@ -0,0 +1,118 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.dto.TagCountDTO;
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.repository.projection.TagCountView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Number of posts per tag, adjusted by every committed tag link change. Concurrent writers on the
+ * same blog can make a delta miss or count twice, the periodic reconciliation against blog_tag
+ * corrects such drift. Deltas added while the recount runs are journaled and applied on top of it,
+ * the counters are corrected in place so no delta is lost to the reconciliation itself.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TagCounts {
+
+    private final BlogRepository blogRepository;
+
+    private final TagDictionary tagDictionary;
+
+    private final Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    // Deltas added since the running recount started, null while none runs
+    private Map<Long, AtomicLong> journal;
+
+    // Adds share the read lock, starting and applying a recount take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.tags.reconcile-interval:PT5M}", initialDelayString = "${blog.tags.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        Map<Long, AtomicLong> deltas = new ConcurrentHashMap<>();
+        startJournal(deltas);
+        Map<Long, Long> loaded = new HashMap<>();
+        try {
+            blogRepository.getPostCountsByTag().forEach(count -> loaded.put(count.getTagId(), count.getPostCount()));
+        } catch (RuntimeException e) {
+            stopJournal();
+            throw e;
+        }
+        long drifted = 0;
+        lock.writeLock().lock();
+        try {
+            journal = null;
+            Set<Long> tagIds = new HashSet<>(counts.keySet());
+            tagIds.addAll(loaded.keySet());
+            for (Long tagId : tagIds) {
+                AtomicLong delta = deltas.get(tagId);
+                long expected = loaded.getOrDefault(tagId, 0L) + (delta == null ? 0 : delta.get());
+                AtomicLong count = counts.computeIfAbsent(tagId, id -> new AtomicLong());
+                if (count.getAndSet(expected) != expected)
+                    drifted++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (drifted > 0)
+            log.info("Tag counts reconciled, {} tags had drifted", drifted);
+    }
+
+    public long get(Long tagId) {
+        AtomicLong count = counts.get(tagId);
+        return count == null ? 0 : count.get();
+    }
+
+    public void add(Long tagId, long delta) {
+        if (delta == 0)
+            return;
+        lock.readLock().lock();
+        try {
+            counts.computeIfAbsent(tagId, id -> new AtomicLong()).addAndGet(delta);
+            if (journal != null)
+                journal.computeIfAbsent(tagId, id -> new AtomicLong()).addAndGet(delta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TagCountDTO> getTagCounts() {
+        return tagDictionary.getAll().entrySet().stream()
+                .map(tag -> new TagCountDTO(tag.getKey(), tag.getValue(), Math.max(0, get(tag.getKey()))))
+                .sorted(Comparator.comparing(TagCountDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    private void startJournal(Map<Long, AtomicLong> deltas) {
+        lock.writeLock().lock();
+        try {
+            journal = deltas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        startJournal(null);
+    }
+
+}
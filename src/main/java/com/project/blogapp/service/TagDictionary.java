@@ -0,0 +1,137 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.repository.projection.BlogTagView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the tag table. Tags are few and rarely change, so existence checks and
+ * name lookups are served from memory. Unknown ids fall back to the repository once, an id the
+ * repository does not know either is remembered as absent for a short while.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TagDictionary {
+
+    // Short enough for tags created outside this application, put and refresh clear it earlier
+    private static final long ABSENT_TTL_NANOS = Duration.ofSeconds(30).toNanos();
+
+    // Requests for arbitrary ids must not grow the markers without bound
+    private static final int MAX_ABSENT = 10_000;
+
+    private final TagRepository tagRepository;
+
+    private volatile Map<Long, String> tagNames = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Long> tagIds = new ConcurrentHashMap<>();
+
+    // Unknown tag ids and the System.nanoTime until which they are not looked up again
+    private final Map<Long, Long> absentUntil = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        Map<Long, String> loadedNames = new ConcurrentHashMap<>();
+        Map<String, Long> loadedIds = new ConcurrentHashMap<>();
+        tagRepository.findAll().forEach(tag -> {
+            String name = tag.getTag_name().intern();
+            loadedNames.put(tag.getId(), name);
+            loadedIds.putIfAbsent(name, tag.getId());
+        });
+        tagNames = loadedNames;
+        tagIds = loadedIds;
+        absentUntil.clear();
+        log.info("Tag dictionary loaded with {} tags", loadedNames.size());
+    }
+
+    public boolean contains(Long tagId) {
+        return getName(tagId) != null;
+    }
+
+    public String getName(Long tagId) {
+        if (tagId == null)
+            return null;
+        String name = tagNames.get(tagId);
+        if (name != null)
+            return name;
+        Long until = absentUntil.get(tagId);
+        if (until != null) {
+            if (System.nanoTime() - until < 0)
+                return null;
+            absentUntil.remove(tagId, until);
+        }
+        name = tagRepository.findById(tagId)
+                .map(this::put)
+                .orElse(null);
+        if (name == null) {
+            if (absentUntil.size() >= MAX_ABSENT)
+                absentUntil.clear();
+            absentUntil.put(tagId, System.nanoTime() + ABSENT_TTL_NANOS);
+            // A put which committed the tag meanwhile has already cleared the marker, it must not stay
+            name = tagNames.get(tagId);
+            if (name != null)
+                absentUntil.remove(tagId);
+        }
+        return name;
+    }
+
+    public Long getId(String tagName) {
+        if (tagName == null)
+            return null;
+        Long tagId = tagIds.get(tagName);
+        if (tagId != null)
+            return tagId;
+        return tagRepository.getTagsByName(tagName).stream()
+                .findFirst()
+                .map(tag -> {
+                    put(tag);
+                    return tag.getId();
+                })
+                .orElse(null);
+    }
+
+    // Names in their natural order, the streaming serializer writes them in the same order
+    public Map<Long, Set<String>> getTagNamesByBlog(Collection<BlogTagView> blogTags) {
+        Map<Long, Set<String>> tagNamesByBlog = new HashMap<>();
+        blogTags.forEach(blogTag -> {
+            String tagName = getName(blogTag.getTagId());
+            if (tagName != null)
+                tagNamesByBlog.computeIfAbsent(blogTag.getBlogId(), key -> new TreeSet<>()).add(tagName);
+        });
+        return tagNamesByBlog;
+    }
+
+    public Map<Long, String> getAll() {
+        return Map.copyOf(tagNames);
+    }
+
+    public String put(Tag tag) {
+        String name = tag.getTag_name().intern();
+        String previous = tagNames.put(tag.getId(), name);
+        absentUntil.remove(tag.getId());
+        if (previous != null && !previous.equals(name))
+            tagIds.remove(previous, tag.getId());
+        tagIds.putIfAbsent(name, tag.getId());
+        return name;
+    }
+
+    public void remove(Long tagId) {
+        String name = tagNames.remove(tagId);
+        if (name != null)
+            tagIds.remove(name, tagId);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.project.blogapp.sql;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements, JDBC time and fetched rows recorded on the current thread while a scope is open.
+ * Scopes nest, a statement counts for the innermost scope and every enclosing one, so a test can
+ * measure a request which opens its own scope.
+ */
+@Getter
+public class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    @Getter(AccessLevel.NONE)
+    private final SqlStatistics parent;
+
+    private int statements;
+
+    private long jdbcNanos;
+
+    private long rows;
+
+    // Executions per statement text, bind values are not part of it
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatistics open() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(String sql, long nanos) {
+        for (SqlStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.statements++;
+            statistics.jdbcNanos += nanos;
+            if (sql != null)
+                statistics.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void recordRow() {
+        for (SqlStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent)
+            statistics.rows++;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold)
+                repeated.put(sql, count);
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        if (parent == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(parent);
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + getJdbcTime().toMillis() + " ms JDBC time, " + rows + " rows";
+    }
+
+}
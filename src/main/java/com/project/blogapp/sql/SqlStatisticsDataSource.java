@@ -0,0 +1,101 @@
+package com.project.blogapp.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out connections whose statements report to {@link SqlStatistics}. Every execute call is one
+ * statement, a JDBC batch included since it is a single round trip, and every row a result set
+ * advances to is a fetched row. Nothing is recorded on threads without an open scope.
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection connection) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatisticsDataSource.invoke(connection, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (result instanceof CallableStatement statement)
+                return proxy(CallableStatement.class, new StatementHandler(statement, sql));
+            if (result instanceof PreparedStatement statement)
+                return proxy(PreparedStatement.class, new StatementHandler(statement, sql));
+            if (result instanceof Statement statement)
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            return result;
+        }
+
+    }
+
+    // A plain statement gets its SQL with every execute call, a prepared one when it is prepared
+    private record StatementHandler(Statement statement, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                Object result = SqlStatisticsDataSource.invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? proxy(ResultSet.class, new ResultSetHandler(resultSet)) : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            try {
+                Object result = SqlStatisticsDataSource.invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? proxy(ResultSet.class, new ResultSetHandler(resultSet)) : result;
+            } finally {
+                SqlStatistics.recordStatement(sql, System.nanoTime() - start);
+            }
+        }
+
+    }
+
+    private record ResultSetHandler(ResultSet resultSet) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatisticsDataSource.invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next"))
+                SqlStatistics.recordRow();
+            return result;
+        }
+
+    }
+
+}
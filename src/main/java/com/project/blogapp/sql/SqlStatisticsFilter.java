@@ -0,0 +1,119 @@
+package com.project.blogapp.sql;
+
+import com.project.blogapp.config.BlogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of every request and warns about requests above the configured limits
+ * and about statements repeated often enough to be an N+1. Streamed exports query on an async thread
+ * and are not counted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AllArgsConstructor
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String JDBC_TIME_HEADER = "X-Sql-Jdbc-Time";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+
+    private BlogProperties blogProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BlogProperties.Sql limits = blogProperties.getSql();
+        try (SqlStatistics statistics = SqlStatistics.open()) {
+            HttpServletResponse target = limits.isHeaders() ? new HeaderWritingResponse(response, statistics) : response;
+            filterChain.doFilter(request, target);
+            if (target instanceof HeaderWritingResponse headerWritingResponse)
+                headerWritingResponse.writeHeaders();
+            report(request, statistics, limits);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatistics statistics, BlogProperties.Sql limits) {
+        if (statistics.getStatements() > limits.getMaxStatements()
+                || statistics.getJdbcTime().compareTo(limits.getMaxJdbcTime()) > 0
+                || statistics.getRows() > limits.getMaxRows())
+            log.warn("{} {} exceeded the SQL limits: {}", request.getMethod(), request.getRequestURI(), statistics);
+        for (Map.Entry<String, Integer> repeated : statistics.getRepeatedStatements(limits.getRepeatedStatementThreshold()).entrySet())
+            log.warn("{} {} executed the same statement {} times, possible N+1: {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), repeated.getKey());
+    }
+
+    // The headers have to be in place before the body commits the response, every write path adds them first
+    private static class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted())
+                return;
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            setHeader(JDBC_TIME_HEADER, String.valueOf(statistics.getJdbcTime().toMillis()));
+            setHeader(ROWS_HEADER, String.valueOf(statistics.getRows()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+    }
+
+}
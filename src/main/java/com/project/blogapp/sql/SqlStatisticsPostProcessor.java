@@ -0,0 +1,24 @@
+package com.project.blogapp.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so that the statements of every caller, repositories, Hibernate and
+ * the JDBC templates alike, are counted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatisticsDataSource))
+            return new SqlStatisticsDataSource(dataSource);
+        return bean;
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.project.blogapp.store;
+
+import com.project.blogapp.config.BlogProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of blog bodies. A body is kept once per SHA-256 in append-only, memory-mapped
+ * segment files and referred to as "sha256:&lt;hex&gt;", identical bodies of many posts share one record.
+ * Bodies kept inline which could be mistaken for a reference are written behind "inline:".
+ * The hash to offset index lives in memory and is rebuilt by scanning the segments on startup. Reads
+ * are slices of the mapped files. Compaction copies the referenced records into new segments and
+ * drops the old ones.
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.content-store", name = "enabled", havingValue = "true")
+@Slf4j
+public class ContentStore {
+
+    public static final String REFERENCE_PREFIX = "sha256:";
+
+    // Marks a column value as the body itself, whatever it starts with
+    public static final String INLINE_PREFIX = "inline:";
+
+    static final int HASH_LENGTH = 32;
+
+    private static final Pattern REFERENCE = Pattern.compile("sha256:([0-9a-f]{64})");
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    // Readers go through the index without locking, stores and compaction synchronize on the store
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private Segment current;
+
+    public ContentStore(BlogProperties blogProperties) throws IOException {
+        BlogProperties.ContentStore properties = blogProperties.getContentStore();
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = properties.getSegmentSize().toBytes();
+        Files.createDirectories(directory);
+        open();
+    }
+
+    public static boolean isReference(String value) {
+        return value != null && value.length() == REFERENCE_PREFIX.length() + 2 * HASH_LENGTH && REFERENCE.matcher(value).matches();
+    }
+
+    /**
+     * Stores the body unless an identical one is stored already and returns its reference.
+     */
+    public String put(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = sha256(ByteBuffer.wrap(bytes));
+        String hex = HEX.formatHex(hash);
+        // Reuse is locked as well, a compaction running meanwhile could otherwise drop the record it returns
+        synchronized (this) {
+            Location location = index.get(hex);
+            if (location != null)
+                location.touch();
+            else
+                index.put(hex, append(hash, ByteBuffer.wrap(bytes)));
+        }
+        return REFERENCE_PREFIX + hex;
+    }
+
+    public ByteBuffer get(String reference) {
+        Location location = index.get(toHash(reference));
+        if (location == null)
+            throw new IllegalStateException("Content is not found in the content store: " + reference);
+        return location.segment().body(location.offset(), location.length());
+    }
+
+    public String getString(String reference) {
+        return StandardCharsets.UTF_8.decode(get(reference)).toString();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Rewrites the store without the records which are neither referenced nor stored or reused within
+     * the grace period, and returns the number of removed records.
+     */
+    public synchronized int compact(Collection<String> liveReferences, Duration gracePeriod) throws IOException {
+        long touchedAfter = System.currentTimeMillis() - gracePeriod.toMillis();
+        Set<String> live = liveReferences.stream().filter(ContentStore::isReference).map(ContentStore::toHash)
+                .collect(Collectors.toSet());
+        List<String> removed = index.entrySet().stream()
+                .filter(entry -> !live.contains(entry.getKey()) && entry.getValue().touched() <= touchedAfter)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (removed.isEmpty())
+            return 0;
+        removed.forEach(index::remove);
+
+        List<Segment> old = new ArrayList<>(segments);
+        segments.clear();
+        current = newSegment(old.get(old.size() - 1).getId() + 1, segmentSize);
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            Location copy = append(HEX.parseHex(entry.getKey()), location.segment().body(location.offset(), location.length()));
+            copy.setTouched(location.touched());
+            entry.setValue(copy);
+        }
+        // Readers holding a slice of an old segment keep it, the mapping stays valid after the file is gone
+        for (Segment segment : old) {
+            segment.close();
+            Files.deleteIfExists(segment.getPath());
+        }
+        log.info("Content store compacted, {} unreferenced bodies removed, {} kept", removed.size(), index.size());
+        return removed.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments)
+            segment.close();
+    }
+
+    private void open() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+            matcher.matches();
+            Segment segment = Segment.open(Integer.parseInt(matcher.group(1)), file, segmentSize);
+            segment.setPosition(scan(segment));
+            segments.add(segment);
+        }
+        current = segments.isEmpty() ? newSegment(0, segmentSize) : segments.get(segments.size() - 1);
+        log.info("Content store opened with {} bodies in {} segments", index.size(), segments.size());
+    }
+
+    // Indexes the complete records of a segment and returns where the next record goes
+    private int scan(Segment segment) {
+        int offset = 0;
+        for (int next = segment.next(offset); next >= 0; next = segment.next(offset)) {
+            byte[] hash = segment.hash(offset);
+            // A record torn by a crash does not match its hash, nothing after it was committed
+            if (!MessageDigest.isEqual(hash, sha256(segment.body(offset, segment.length(offset)))))
+                break;
+            index.put(HEX.formatHex(hash), new Location(segment, offset, segment.length(offset)));
+            offset = next;
+        }
+        return offset;
+    }
+
+    private Location append(byte[] hash, ByteBuffer body) {
+        int recordSize = Segment.HEADER + body.remaining();
+        try {
+            if (current.remaining() < recordSize)
+                current = newSegment(current.getId() + 1, Math.max(segmentSize, recordSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int length = body.remaining();
+        return new Location(current, current.append(hash, body), length);
+    }
+
+    private Segment newSegment(int id, long size) throws IOException {
+        Segment segment = Segment.open(id, directory.resolve(String.format("segment-%06d.dat", id)), size);
+        segments.add(segment);
+        return segment;
+    }
+
+    private static String toHash(String reference) {
+        if (!isReference(reference))
+            throw new IllegalArgumentException("Not a content store reference: " + reference);
+        return reference.substring(REFERENCE_PREFIX.length());
+    }
+
+    private static byte[] sha256(ByteBuffer bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Location {
+
+        private final Segment segment;
+
+        private final int offset;
+
+        private final int length;
+
+        // Last store or reuse, compaction keeps recently touched records
+        private volatile long touched = System.currentTimeMillis();
+
+        Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        Segment segment() {
+            return segment;
+        }
+
+        int offset() {
+            return offset;
+        }
+
+        int length() {
+            return length;
+        }
+
+        long touched() {
+            return touched;
+        }
+
+        void touch() {
+            touched = System.currentTimeMillis();
+        }
+
+        void setTouched(long touched) {
+            this.touched = touched;
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.project.blogapp.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped, append-only file of the content store. A record is the body length, the SHA-256
+ * of the body and the body. The length is written last, a record whose length is still zero was never
+ * completed and ends the readable part of the segment.
+ */
+class Segment {
+
+    static final int HEADER = Integer.BYTES + ContentStore.HASH_LENGTH;
+
+    private final int id;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private int position;
+
+    private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    // An existing file keeps its size, a new one is created with the given size
+    static Segment open(int id, Path path, long size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long mappedSize = channel.size() > 0 ? channel.size() : size;
+        return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+    }
+
+    int getId() {
+        return id;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int remaining() {
+        return buffer.capacity() - position;
+    }
+
+    // Offset of the next record, -1 once the readable part of the segment ends
+    int next(int offset) {
+        if (offset + HEADER > buffer.capacity())
+            return -1;
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER + length > buffer.capacity())
+            return -1;
+        return offset + HEADER + length;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    int length(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    byte[] hash(int offset) {
+        byte[] hash = new byte[ContentStore.HASH_LENGTH];
+        buffer.get(offset + Integer.BYTES, hash);
+        return hash;
+    }
+
+    // A read-only view of the mapped body, no bytes are copied
+    ByteBuffer body(int offset, int length) {
+        return buffer.slice(offset + HEADER, length).asReadOnlyBuffer();
+    }
+
+    int append(byte[] hash, ByteBuffer body) {
+        int offset = position;
+        int length = body.remaining();
+        buffer.put(offset + Integer.BYTES, hash);
+        buffer.put(offset + HEADER, body, body.position(), length);
+        buffer.putInt(offset, length);
+        buffer.force(offset, HEADER + length);
+        position = offset + HEADER + length;
+        return offset;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+}
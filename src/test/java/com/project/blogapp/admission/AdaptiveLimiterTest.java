@@ -0,0 +1,102 @@
+package com.project.blogapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveLimiterTest {
+
+    // JUnit test for acquire once the limit is reached and the queue is full
+    @Test
+    public void givenLimitReachedAndNoQueue_whenAcquire_thenRejected() throws InterruptedException {
+
+        // given - precondition or setup
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 0);
+        limiter.acquire(0, TimeUnit.MILLISECONDS);
+        limiter.acquire(0, TimeUnit.MILLISECONDS);
+
+        // when - action or the behaviour that we are going test
+        boolean acquired = limiter.acquire(1, TimeUnit.SECONDS);
+
+        // then - verify the output
+        assertThat(acquired).isFalse();
+        assertThat(limiter.getInflight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    // JUnit test for acquire waiting in the queue until its wait is over
+    @Test
+    public void givenLimitReached_whenAcquireWithWait_thenRejectedAfterWait() throws InterruptedException {
+
+        // given - precondition or setup
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 10, 5);
+        limiter.acquire(0, TimeUnit.MILLISECONDS);
+
+        // when - action or the behaviour that we are going test
+        long started = System.nanoTime();
+        boolean acquired = limiter.acquire(50, TimeUnit.MILLISECONDS);
+
+        // then - verify the output
+        assertThat(acquired).isFalse();
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    // JUnit test for a queued request taking the slot of a released one
+    @Test
+    public void givenQueuedRequest_whenRelease_thenQueuedRequestAdmitted() throws Exception {
+
+        // given - precondition or setup
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 10, 5);
+        limiter.acquire(0, TimeUnit.MILLISECONDS);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (limiter.getQueued() == 0)
+            Thread.onSpinWait();
+
+        // when - action or the behaviour that we are going test
+        limiter.release(Duration.ofMillis(10).toNanos());
+
+        // then - verify the output
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getInflight()).isEqualTo(1);
+    }
+
+    // JUnit test for the limit following the latency of a loaded endpoint
+    @Test
+    public void givenLoadedEndpoint_whenLatencyGrows_thenLimitShrinks() throws InterruptedException {
+
+        // given - precondition or setup
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 2, 200, 0);
+        for (int i = 0; i < 50; i++)
+            roundTrip(limiter, Duration.ofMillis(10));
+        int steadyLimit = limiter.getLimit();
+
+        // when - action or the behaviour that we are going test
+        for (int i = 0; i < 3; i++)
+            roundTrip(limiter, Duration.ofMillis(100));
+
+        // then - verify the output
+        assertThat(steadyLimit).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(steadyLimit / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    // Fills every slot, then releases them all with the same latency
+    private static void roundTrip(AdaptiveLimiter limiter, Duration latency) throws InterruptedException {
+        int admitted = 0;
+        while (limiter.acquire(0, TimeUnit.MILLISECONDS))
+            admitted++;
+        for (int i = 0; i < admitted; i++)
+            limiter.release(latency.toNanos());
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.project.blogapp.admission;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.controller.BlogController;
+import com.project.blogapp.exception.ClientQuotaExceededException;
+import com.project.blogapp.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class AdmissionInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BlogProperties blogProperties = new BlogProperties();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        BlogProperties.Admission.Endpoint endpoint = new BlogProperties.Admission.Endpoint();
+        endpoint.setInitialLimit(2);
+        endpoint.setMinLimit(1);
+        endpoint.setMaxQueue(0);
+        endpoint.setClientRate(1);
+        endpoint.setClientBurst(3);
+        blogProperties.getAdmission().getEndpoints().put("getAllBlogPosts", endpoint);
+    }
+
+    // JUnit test for a client above its quota
+    @Test
+    public void givenClientAboveQuota_whenPreHandle_thenThrowsWithRetryAfter() throws Exception {
+
+        // given - precondition or setup
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(blogProperties, meterRegistry);
+        HandlerMethod handler = handler("getAllBlogPosts");
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = request();
+            interceptor.preHandle(request, response, handler);
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+
+        // when - action or the behaviour that we are going test
+        ClientQuotaExceededException e = assertThrows(ClientQuotaExceededException.class,
+                () -> interceptor.preHandle(request(), response, handler));
+
+        // then - verify the output
+        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("blog.admission.rejected").tag("reason", "quota").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for an endpoint at its concurrency limit
+    @Test
+    public void givenEndpointAtLimit_whenPreHandle_thenThrowsOverloaded() throws Exception {
+
+        // given - precondition or setup
+        blogProperties.getAdmission().getEndpoints().get("getAllBlogPosts").setClientRate(0);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(blogProperties, meterRegistry);
+        HandlerMethod handler = handler("getAllBlogPosts");
+        MockHttpServletRequest first = request();
+        interceptor.preHandle(first, response, handler);
+        interceptor.preHandle(request(), response, handler);
+
+        // when - action or the behaviour that we are going test
+        assertThrows(OverloadedException.class, () -> interceptor.preHandle(request(), response, handler));
+        interceptor.afterCompletion(first, response, handler, null);
+
+        // then - verify the output
+        assertThat(interceptor.preHandle(request(), response, handler)).isTrue();
+        assertThat(meterRegistry.get("blog.admission.inflight").tag("endpoint", "getAllBlogPosts").gauge().value()).isEqualTo(2);
+    }
+
+    // JUnit test for an endpoint without admission settings
+    @Test
+    public void givenUnconfiguredEndpoint_whenPreHandle_thenAdmitted() throws Exception {
+
+        // given - precondition or setup
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(blogProperties, meterRegistry);
+        HandlerMethod handler = handler("getBlogPost");
+
+        // when - action or the behaviour that we are going test
+        for (int i = 0; i < 10; i++)
+            assertThat(interceptor.preHandle(request(), response, handler)).isTrue();
+
+        // then - verify the output
+        assertThat(meterRegistry.find("blog.admission.rejected").counter()).isNull();
+    }
+
+    // JUnit test for quotas kept per API key
+    @Test
+    public void givenHeaderClientKey_whenOneKeyAboveQuota_thenOtherKeyAdmitted() throws Exception {
+
+        // given - precondition or setup
+        blogProperties.getAdmission().setClientKey(BlogProperties.Admission.ClientKey.HEADER);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(blogProperties, meterRegistry);
+        HandlerMethod handler = handler("getAllBlogPosts");
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = request("key-1");
+            interceptor.preHandle(request, response, handler);
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+
+        // when - action or the behaviour that we are going test
+        assertThrows(ClientQuotaExceededException.class, () -> interceptor.preHandle(request("key-1"), response, handler));
+
+        // then - verify the output
+        assertThat(interceptor.preHandle(request("key-2"), response, handler)).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = request();
+        request.addHeader("X-Api-Key", apiKey);
+        return request;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blog");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) {
+        BeanFactory beanFactory = mock(BeanFactory.class);
+        given(beanFactory.getType("blogController")).willAnswer(invocation -> BlogController.class);
+        return new HandlerMethod("blogController", beanFactory, Arrays.stream(ReflectionUtils.getDeclaredMethods(BlogController.class))
+                .filter(method -> method.getName().equals(name))
+                .findFirst()
+                .orElseThrow());
+    }
+
+}
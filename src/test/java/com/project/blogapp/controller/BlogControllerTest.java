@@ -1,26 +1,49 @@
 package com.project.blogapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.blogapp.cache.BlogCaches;
+import com.project.blogapp.config.BlogProperties;
 import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.BulkTagDTO;
 import com.project.blogapp.entity.Blog;
 import com.project.blogapp.entity.Tag;
 import com.project.blogapp.repository.BlogRepository;
 import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.search.TagBitmapIndex;
+import com.project.blogapp.service.BlogService;
+import com.project.blogapp.service.TagCounts;
+import com.project.blogapp.service.TagDictionary;
+import com.project.blogapp.sql.SqlBudget;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
@@ -28,8 +51,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Sql(scripts = "classpath:schema-test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:schema-test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
 @Transactional
 public class BlogControllerTest {
 
@@ -45,14 +70,39 @@ public class BlogControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BlogCaches blogCaches;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private TagCounts tagCounts;
+
+    @Autowired
+    private TagBitmapIndex tagBitmapIndex;
+
+    @Autowired
+    private BlogProperties blogProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
+        blogCaches.invalidateAll();
         blogRepository.findAll().forEach(blog -> {
             blog.getTags().clear();
             blogRepository.save(blog);
         });
         tagRepository.deleteAll();
         blogRepository.deleteAll();
+        tagDictionary.refresh();
+        tagCounts.reconcile();
+        tagBitmapIndex.rebuild();
     }
 
     // JUnit test for saveBlog REST API
@@ -76,6 +126,61 @@ public class BlogControllerTest {
 
     }
 
+    // JUnit test for saveBlogs REST API
+    @Test
+    public void givenBlogList_whenSaveBlogs_thenReturnPerItemResults() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Batch Tag").build());
+
+        List<BlogDTO> blogDTOs = new ArrayList<>();
+        blogDTOs.add(BlogDTO.builder().title("Blog Title 1").content("Blog Content 1").tags(Set.of("Batch Tag")).build());
+        blogDTOs.add(BlogDTO.builder().title("Blog Title 2").build());
+        blogDTOs.add(BlogDTO.builder().title("Blog Title 3").content("Blog Content 3").tags(Set.of("Unknown Tag")).build());
+        blogDTOs.add(BlogDTO.builder().title("Blog Title 4").content("Blog Content 4").build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/blog/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(blogDTOs)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(4)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[1].status", is("FAILED")))
+                .andExpect(jsonPath("$.items[2].status", is("FAILED")))
+                .andExpect(jsonPath("$.items[3].index", is(3)));
+        assertThat(blogRepository.getAllBlogsByTagId(tag.getId()).size()).isEqualTo(1);
+        assertThat(blogRepository.count()).isEqualTo(2);
+
+    }
+
+    // JUnit test for saveBlogs REST API with an NDJSON stream
+    @Test
+    public void givenNdjsonStream_whenSaveBlogs_thenReturnPerItemResults() throws Exception {
+
+        // given - precondition or setup
+        String ndjson = objectMapper.writeValueAsString(BlogDTO.builder().title("Blog Title 1").content("Blog Content 1").build())
+                + "\n" + objectMapper.writeValueAsString(BlogDTO.builder().title("Blog Title 2").content("Blog Content 2").build())
+                + "\n";
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(post("/api/blog/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.created", is(2)));
+
+    }
+
     // JUnit test for updateBlogContent REST API
     @Test
     public void givenBlogObject_whenUpdateBlogContent_thenReturn202() throws Exception {
@@ -180,6 +285,158 @@ public class BlogControllerTest {
 
     }
 
+    // JUnit test for setTags REST API
+    @Test
+    public void givenTaggedBlog_whenSetTags_thenReplaceTags() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().content("Blog Content").title("Blog Title").build());
+        Tag kept = tagRepository.save(Tag.builder().tag_name("Kept Tag").build());
+        Tag removed = tagRepository.save(Tag.builder().tag_name("Removed Tag").build());
+        Tag added = tagRepository.save(Tag.builder().tag_name("Added Tag").build());
+        blog.getTags().addAll(Set.of(kept, removed));
+        blogRepository.save(blog);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(put("/api/blog/{id}/tags", blog.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Set.of(kept.getId(), added.getId()))));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.added", is(1)))
+                .andExpect(jsonPath("$.removed", is(1)));
+        mvc.perform(get("/api/blog/{id}", blog.getId()))
+                .andExpect(jsonPath("$.tags.size()", is(2)));
+
+    }
+
+    // JUnit test for tagBlogs REST API
+    @Test
+    public void givenBlogsAndTags_whenTagBlogs_thenLinkEveryPair() throws Exception {
+
+        // given - precondition or setup
+        Blog first = blogRepository.save(Blog.builder().content("Blog Content 1").title("Blog Title 1").build());
+        Blog second = blogRepository.save(Blog.builder().content("Blog Content 2").title("Blog Title 2").build());
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        first.getTags().add(tag);
+        blogRepository.save(first);
+        BulkTagDTO bulkTagDTO = BulkTagDTO.builder()
+                .blogIds(Set.of(first.getId(), second.getId(), 999_999L))
+                .tagIds(Set.of(tag.getId()))
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(put("/api/blog/tags")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkTagDTO)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.added", is(1)));
+        mvc.perform(get("/api/blog/tag/{id}", tag.getId()))
+                .andExpect(jsonPath("$.size()", is(2)));
+
+    }
+
+    // JUnit test for getTagCounts REST API following tag changes
+    @Test
+    public void givenTagChanges_whenGetTagCounts_thenReturnPostCountPerTag() throws Exception {
+
+        // given - precondition or setup
+        Blog first = blogRepository.save(Blog.builder().content("Blog Content 1").title("Blog Title 1").build());
+        Blog second = blogRepository.save(Blog.builder().content("Blog Content 2").title("Blog Title 2").build());
+        Tag backend = tagRepository.save(Tag.builder().tag_name("Backend").build());
+        Tag frontend = tagRepository.save(Tag.builder().tag_name("Frontend").build());
+        blogService.tagBlogs(Set.of(first.getId(), second.getId()), Set.of(backend.getId()));
+        blogService.addTag(first.getId(), frontend.getId());
+        blogService.discardTag(second.getId(), backend.getId());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/tags"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].name", is("Backend")))
+                .andExpect(jsonPath("$[0].postCount", is(1)))
+                .andExpect(jsonPath("$[1].name", is("Frontend")))
+                .andExpect(jsonPath("$[1].postCount", is(1)));
+
+    }
+
+    // JUnit test for getBlogPostsByTags REST API
+    @Test
+    public void givenTaggedBlogs_whenGetBlogPostsByTags_thenReturnMatchingPage() throws Exception {
+
+        // given - precondition or setup
+        List<Long> blogIds = new ArrayList<>();
+        IntStream.rangeClosed(1, 3).forEach(i -> blogService.saveBlog(BlogDTO.builder().title("Blog Title " + i).content("Blog Content " + i).build()));
+        blogRepository.findAll().forEach(blog -> blogIds.add(blog.getId()));
+        Tag backend = tagRepository.save(Tag.builder().tag_name("Backend").build());
+        Tag mobile = tagRepository.save(Tag.builder().tag_name("Mobile").build());
+        blogService.tagBlogs(Set.copyOf(blogIds), Set.of(backend.getId()));
+        blogService.addTag(blogIds.get(2), mobile.getId());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/filter")
+                .param("all", String.valueOf(backend.getId()))
+                .param("none", String.valueOf(mobile.getId()))
+                .param("limit", "1"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Blog Title 1")))
+                .andExpect(jsonPath("$[0].tags[0]", is("Backend")))
+                .andExpect(header().exists(BlogController.NEXT_CURSOR_HEADER));
+
+    }
+
+    // JUnit test for getBlogPost REST API
+    @Test
+    public void givenBlogObject_whenGetBlogPost_thenReturnBlog() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().content("Blog Content").title("Blog Title").build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/{id}", blog.getId()));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.title", is("Blog Title")))
+                .andExpect(jsonPath("$.content", is("Blog Content")));
+
+    }
+
+    // JUnit test for getAllBlogPosts REST API served from cache and evicted on update
+    @Test
+    public void givenCachedBlogList_whenUpdateBlogContent_thenReturnUpdatedBlogList() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().content("Blog Content").title("Blog Title").build());
+        mvc.perform(get("/api/blog")).andExpect(jsonPath("$[0].title", is("Blog Title")));
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(put("/api/blog/{id}", blog.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BlogDTO.builder().title("Updated Title").content("Updated Content").build())));
+        ResultActions response = mvc.perform(get("/api/blog"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].title", is("Updated Title")));
+        assertThat(blogCaches.getBlogPages().stats().hitCount()).isZero();
+
+    }
+
     // JUnit test for getAllBlogPosts REST API
     @Test
     public void givenListOfBlogs_whenGetAllBlogPosts_thenReturnBlogList() throws Exception {
@@ -201,6 +458,91 @@ public class BlogControllerTest {
 
     }
 
+    // JUnit test for getAllBlogPosts REST API with cursor pagination
+    @Test
+    public void givenListOfBlogs_whenGetAllBlogPostsWithLimit_thenReturnPagesWithCursor() throws Exception {
+
+        // given - precondition or setup
+        List<Blog> blogs = new ArrayList<>();
+        blogs.add(Blog.builder().content("Blog Content 1").title("Blog Title 1").build());
+        blogs.add(Blog.builder().content("Blog Content 2").title("Blog Title 2").build());
+        blogs.add(Blog.builder().content("Blog Content 3").title("Blog Title 3").build());
+        blogRepository.saveAll(blogs);
+
+        // when - action or the behaviour that we are going to test
+        MvcResult firstPage = mvc.perform(get("/api/blog").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(header().exists(BlogController.NEXT_CURSOR_HEADER))
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader(BlogController.NEXT_CURSOR_HEADER);
+
+        ResultActions response = mvc.perform(get("/api/blog").param("limit", "2").param("cursor", cursor));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Blog Title 3")))
+                .andExpect(header().doesNotExist(BlogController.NEXT_CURSOR_HEADER));
+
+    }
+
+    // JUnit test for getAllBlogPosts REST API revalidated with the returned ETag
+    @Test
+    public void givenUnchangedCatalog_whenGetAllBlogPostsWithETag_thenReturn304() throws Exception {
+
+        // given - precondition or setup
+        blogService.saveBlog(BlogDTO.builder().content("Blog Content").title("Blog Title").build());
+        String eTag = mvc.perform(get("/api/blog"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog").header("If-None-Match", eTag));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+    }
+
+    // JUnit test for getBlogPost REST API revalidated after a write
+    @Test
+    public void givenChangedCatalog_whenGetBlogPostWithETag_thenReturn200() throws Exception {
+
+        // given - precondition or setup
+        blogService.saveBlog(BlogDTO.builder().content("Blog Content").title("Blog Title").build());
+        Long blogId = blogRepository.findAll().get(0).getId();
+        String eTag = mvc.perform(get("/api/blog/{id}", blogId)).andReturn().getResponse().getHeader("ETag");
+        blogService.updateBlog(blogId, BlogDTO.builder().content("Updated Content").title("Updated Title").build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/{id}", blogId).header("If-None-Match", eTag));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.title", is("Updated Title")));
+        assertThat(response.andReturn().getResponse().getHeader("ETag")).isNotEqualTo(eTag);
+
+    }
+
+    // JUnit test for getAllBlogPosts REST API with a malformed cursor
+    @Test
+    public void givenInvalidCursor_whenGetAllBlogPosts_thenReturn400() throws Exception {
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog").param("cursor", "not-a-cursor"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest()).andDo(print());
+
+    }
+
     // JUnit test for getAllSummaries REST API
     @Test
     public void givenListOfBlogs_whenGetAllSummaries_thenReturnBlogListWithSummaries() throws Exception {
@@ -224,6 +566,100 @@ public class BlogControllerTest {
 
     }
 
+    // JUnit test for exportBlogPosts REST API
+    @Test
+    public void givenExportRequest_whenExportBlogPosts_thenStreamNdjsonAsynchronously() throws Exception {
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mvc.perform(get("/api/blog/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then - verify the output
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+    }
+
+    // JUnit test for exporting blogs as NDJSON lines
+    @Test
+    public void givenBlogsWithTags_whenExportBlogPosts_thenWriteOneLinePerBlog() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Export Tag").build());
+        IntStream.rangeClosed(1, 3).forEach(value -> {
+            Blog blog = Blog.builder().title("Blog Title " + value).content("Blog Content " + value).build();
+            blog.getTags().add(tag);
+            blogRepository.save(blog);
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when - action or the behaviour that we are going to test
+        blogService.exportBlogPosts(outputStream);
+
+        // then - verify the output
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length).isEqualTo(3);
+        BlogDTO first = objectMapper.readValue(lines[0], BlogDTO.class);
+        assertThat(first.getTitle()).isEqualTo("Blog Title 1");
+        assertThat(first.getTags()).containsExactly("Export Tag");
+
+    }
+
+    // JUnit test for exporting more blogs than fit into one chunk
+    @Test
+    public void givenMoreBlogsThanChunkSize_whenExportBlogPosts_thenWriteEveryBlogOnce() throws Exception {
+
+        // given - precondition or setup
+        IntStream.rangeClosed(1, 5).forEach(value ->
+                blogRepository.save(Blog.builder().title("Blog Title " + value).content("Blog Content " + value).build()));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        blogProperties.getExport().setChunkSize(2);
+
+        // when - action or the behaviour that we are going to test
+        try {
+            blogService.exportBlogPosts(outputStream);
+        } finally {
+            blogProperties.getExport().setChunkSize(100);
+        }
+
+        // then - verify the output
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length).isEqualTo(5);
+        assertThat(objectMapper.readValue(lines[4], BlogDTO.class).getTitle()).isEqualTo("Blog Title 5");
+
+    }
+
+    // JUnit test for searchBlogPosts REST API
+    @Test
+    public void givenSavedBlogs_whenSearchBlogPosts_thenReturnMatchingSummaries() throws Exception {
+
+        // given - precondition or setup
+        mvc.perform(post("/api/blog")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BlogDTO.builder()
+                        .title("Quasar observations")
+                        .content("Notes about distant quasar spectra")
+                        .build())));
+        mvc.perform(post("/api/blog")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BlogDTO.builder()
+                        .title("Cooking")
+                        .content("A recipe without any astronomy")
+                        .build())));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/search").param("q", "quasar"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is("Quasar observations")));
+
+    }
+
     // JUnit test for
     @Test
     public void givenTagAndBlogObjects_whenGetAllBlogPostsByTags_thenReturnBlogList() throws Exception {
@@ -255,6 +691,325 @@ public class BlogControllerTest {
 
     }
 
+    // JUnit test for prometheus metrics endpoint
+    @Test
+    public void givenServedRequest_whenScrapePrometheus_thenReturnLatencyHistograms() throws Exception {
+
+        // given - precondition or setup
+        blogRepository.save(Blog.builder().content("Blog Content").title("Blog Title").build());
+        mvc.perform(get("/api/blog")).andExpect(status().isOk());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/actuator/prometheus"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/blog\"")))
+                .andExpect(content().string(containsString("blog_service_seconds_bucket{class=\"com.project.blogapp.service.CachingBlogService\"")))
+                .andExpect(content().string(containsString("blog_service_seconds_bucket{class=\"com.project.blogapp.service.BlogServiceImpl\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"blogPages\"")));
+
+    }
+
+    // JUnit test for the query budget of getBlogPosts REST API
+    @Test
+    public void givenTaggedBlogs_whenGetBlogPosts_thenStayWithinQueryBudget() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        IntStream.rangeClosed(1, 3).forEach(i -> {
+            Blog blog = Blog.builder().title("Blog Title " + i).content("Blog Content " + i).build();
+            blog.getTags().add(tag);
+            blogRepository.save(blog);
+        });
+        tagDictionary.refresh();
+        detach();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog").param("limit", "2"));
+
+        // then - verify the output
+        // one page query of limit + 1 rows, one blog_tag query for the two posts of the page
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tags[0]", is("Generic Tag")))
+                .andExpect(SqlBudget.statements(2))
+                .andExpect(SqlBudget.rows(5));
+
+    }
+
+    // JUnit test for the query budget of getBlogPostsWithSummaries REST API
+    @Test
+    public void givenTaggedBlogs_whenGetBlogPostsWithSummaries_thenStayWithinQueryBudget() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        IntStream.rangeClosed(1, 3).forEach(i -> {
+            Blog blog = Blog.builder().title("Blog Title " + i).content("Blog Content " + i).build();
+            blog.getTags().add(tag);
+            blogRepository.save(blog);
+        });
+        tagDictionary.refresh();
+        detach();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/summaries"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(SqlBudget.statements(2))
+                .andExpect(SqlBudget.rows(6));
+
+    }
+
+    // JUnit test for the query budget of getBlogPost REST API
+    @Test
+    public void givenTaggedBlog_whenGetBlogPost_thenStayWithinQueryBudget() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        Blog blog = Blog.builder().title("Blog Title").content("Blog Content").build();
+        blog.getTags().add(tag);
+        blogRepository.save(blog);
+        tagDictionary.refresh();
+        detach();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/{id}", blog.getId()));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(SqlBudget.statements(2));
+
+    }
+
+    // JUnit test for the query budget of addTag REST API
+    @Test
+    public void givenBlogAndTag_whenAddTag_thenLinkWithSingleStatement() throws Exception {
+
+        // given - precondition or setup
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+        tagDictionary.refresh();
+        detach();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        SqlBudget.assertStatements(1, () -> mvc.perform(put("/api/blog/{id}/tag/{tagId}", blog.getId(), tag.getId()))
+                .andExpect(status().isAccepted()));
+
+    }
+
+
+    // JUnit test for the query budget of patchBlog REST API
+    @Test
+    public void givenTitlePatch_whenPatchBlog_thenUpdateWithSingleStatement() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+        detach();
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .title("Patched Title")
+                .expectedVersion(blog.getVersion())
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        SqlBudget.assertStatements(1, () -> mvc.perform(patch("/api/blog/{id}", blog.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(blogPatchDTO)))
+                .andExpect(status().isNoContent()));
+
+        // then - verify the output
+        mvc.perform(get("/api/blog/{id}", blog.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Patched Title")))
+                .andExpect(jsonPath("$.content", is("Blog Content")))
+                .andExpect(jsonPath("$.version", is((int) (blog.getVersion() + 1))));
+
+    }
+
+    // JUnit test for patchBlog REST API with a stale version
+    @Test
+    public void givenStaleVersion_whenPatchBlog_thenReturn409() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+        detach();
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .content("Patched Content")
+                .expectedVersion(blog.getVersion() + 1)
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/blog/{id}", blog.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(blogPatchDTO)));
+
+        // then - verify the output
+        response.andExpect(status().isConflict());
+        mvc.perform(get("/api/blog/{id}", blog.getId()))
+                .andExpect(jsonPath("$.content", is("Blog Content")));
+
+    }
+
+    // JUnit test for patchBlog REST API with an unknown blog
+    @Test
+    public void givenUnknownBlog_whenPatchBlog_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .content("Patched Content")
+                .expectedVersion(0L)
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(patch("/api/blog/{id}", 30L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(blogPatchDTO)));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound());
+
+    }
+
+
+    // JUnit test for the streaming serialization of the list REST APIs
+    @Test
+    public void givenStreamingMode_whenGetBlogLists_thenReturnSameBodiesAsDTOMode() throws Exception {
+
+        // given - precondition or setup
+        // Linked in an order which is neither the name nor the id order of the tags
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Generic Tag").build());
+        Tag second = tagRepository.save(Tag.builder().tag_name("Another Tag").build());
+        Tag third = tagRepository.save(Tag.builder().tag_name("Zebra Tag").build());
+        IntStream.rangeClosed(1, 3).forEach(i -> {
+            Blog blog = Blog.builder().title("Blog Title " + i).content("Blog Content " + i).build();
+            blog.getTags().add(third);
+            blog.getTags().add(tag);
+            if (i != 2)
+                blog.getTags().add(second);
+            blogRepository.save(blog);
+        });
+        tagDictionary.refresh();
+        detach();
+        List<String> urls = List.of("/api/blog?limit=2", "/api/blog/summaries?limit=2", "/api/blog/tag/" + tag.getId());
+        List<MvcResult> dtoResults = new ArrayList<>();
+        for (String url : urls)
+            dtoResults.add(mvc.perform(get(url)).andReturn());
+
+        // when - action or the behaviour that we are going to test
+        List<MvcResult> streamedResults = new ArrayList<>();
+        blogProperties.getSerialization().setMode(BlogProperties.Serialization.Mode.STREAMING);
+        try {
+            for (String url : urls)
+                streamedResults.add(mvc.perform(get(url)).andExpect(status().isOk()).andReturn());
+        } finally {
+            blogProperties.getSerialization().setMode(BlogProperties.Serialization.Mode.DTO);
+        }
+
+        // then - verify the output
+        assertThat(dtoResults.get(0).getResponse().getContentAsString())
+                .contains("\"tags\":[\"Another Tag\",\"Generic Tag\",\"Zebra Tag\"]");
+        for (int i = 0; i < urls.size(); i++) {
+            assertThat(streamedResults.get(i).getResponse().getContentAsString())
+                    .isEqualTo(dtoResults.get(i).getResponse().getContentAsString());
+            assertThat(streamedResults.get(i).getResponse().getHeader(BlogController.NEXT_CURSOR_HEADER))
+                    .isEqualTo(dtoResults.get(i).getResponse().getHeader(BlogController.NEXT_CURSOR_HEADER));
+        }
 
+    }
+
+
+    // JUnit test for getWriteStatus REST API with an unknown tracking id
+    @Test
+    public void givenUnknownTrackingId_whenGetWriteStatus_thenReturn404() throws Exception {
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/writes/{id}", "unknown"));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound());
+
+    }
+
+
+    // JUnit test for getBlogPosts REST API with a gzip accepting client
+    @Test
+    public void givenLargeBlogList_whenGetBlogPostsWithGzip_thenServeCompressedBodyOnce() throws Exception {
+
+        // given - precondition or setup
+        IntStream.rangeClosed(1, 5).forEach(i -> blogRepository.save(Blog.builder()
+                .title("Blog Title " + i)
+                .content("Blog Content ".repeat(100))
+                .build()));
+        String plain = mvc.perform(get("/api/blog")).andReturn().getResponse().getContentAsString();
+        long hits = blogCaches.getStatistics().get("compressedResponses").getHitCount();
+
+        // when - action or the behaviour that we are going to test
+        MvcResult first = mvc.perform(get("/api/blog").header("Accept-Encoding", "gzip, deflate")).andReturn();
+        MvcResult second = mvc.perform(get("/api/blog").header("Accept-Encoding", "gzip, deflate")).andReturn();
+
+        // then - verify the output
+        assertThat(first.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(first.getResponse().getHeaders("Vary")).contains("Accept-Encoding");
+        assertThat(first.getResponse().getHeader("ETag")).startsWith("W/");
+        byte[] compressed = first.getResponse().getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(plain.length());
+        assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(plain);
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(compressed);
+        assertThat(blogCaches.getStatistics().get("compressedResponses").getHitCount()).isEqualTo(hits + 1);
+
+    }
+
+    // JUnit test for compressed responses after a write
+    @Test
+    public void givenCompressedResponse_whenSaveBlog_thenCompressNewVersion() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content ".repeat(100)).build());
+        mvc.perform(get("/api/blog").header("Accept-Encoding", "gzip;q=0, deflate"));
+        long hits = blogCaches.getStatistics().get("compressedResponses").getHitCount();
+
+        // when - action or the behaviour that we are going to test
+        mvc.perform(post("/api/blog")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BlogDTO.builder().title("Second Title").content("Second Content").build())));
+        MvcResult result = mvc.perform(get("/api/blog").header("Accept-Encoding", "gzip;q=0, deflate")).andReturn();
+
+        // then - verify the output
+        assertThat(result.getResponse().getHeader("Content-Encoding")).isEqualTo("deflate");
+        String body = new String(new InflaterInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(body).contains(blog.getTitle()).contains("Second Title");
+        assertThat(blogCaches.getStatistics().get("compressedResponses").getHitCount()).isEqualTo(hits);
+
+    }
+
+    // JUnit test for a response below the compression threshold
+    @Test
+    public void givenSmallResponse_whenGetBlogPostWithGzip_thenReturnUncompressed() throws Exception {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mvc.perform(get("/api/blog/{id}", blog.getId()).header("Accept-Encoding", "gzip"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.title", is(blog.getTitle())));
+
+    }
+
+    // Pending inserts are written and the persistence context emptied, the request under test loads from the database
+    private void detach() {
+        entityManager.flush();
+        entityManager.clear();
+    }
 
 }
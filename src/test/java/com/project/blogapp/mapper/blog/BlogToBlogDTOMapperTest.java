@@ -3,11 +3,14 @@ package com.project.blogapp.mapper.blog;
 import com.project.blogapp.dto.BlogDTO;
 import com.project.blogapp.entity.Blog;
 import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.service.TagDictionary;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -15,12 +18,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 
 @ExtendWith(MockitoExtension.class)
 public class BlogToBlogDTOMapperTest {
 
+    @Mock
+    private TagDictionary tagDictionary;
+
     @InjectMocks
     private BlogToBlogDTOMapper mapper;
 
@@ -29,10 +37,12 @@ public class BlogToBlogDTOMapperTest {
     @BeforeAll
     static void beforeAll() {
         Tag tag1 = Tag.builder()
+                .id(1L)
                 .tag_name("Tag 1")
                 .build();
 
         Tag tag2 = Tag.builder()
+                .id(2L)
                 .tag_name("Tag 2")
                 .build();
 
@@ -51,30 +61,87 @@ public class BlogToBlogDTOMapperTest {
     @Test
     public void givenBlogObject_whenMapBlogToBlogDTO_thenReturnBlogDTOObject(){
 
+        // given - precondition or setup
+        given(tagDictionary.getName(1L)).willReturn("Tag 1");
+        given(tagDictionary.getName(2L)).willReturn("Tag 2");
+
         // when - action or the behaviour that we are going to test
         BlogDTO blogDTO = mapper.map(blog);
 
         // then - verify the output
-        assertThat(blogDTO.getTags().size()).isEqualTo(blog.getTags().size());
+        assertThat(blogDTO.getTags()).containsExactlyInAnyOrder("Tag 1", "Tag 2");
         assertThat(blogDTO.getContent()).isEqualTo(blog.getContent());
         assertThat(blogDTO.getTitle()).isEqualTo(blog.getTitle());
         assertThat(blogDTO.getId()).isEqualTo(blog.getId());
 
     }
 
-    // JUnit test for mapping Blog object to BlogDTO object with content summary
+    // JUnit test for mapping Blog object with tag names resolved for the page
+    @Test
+    public void givenBlogObjectAndTagNames_whenMapWithTags_thenReturnBlogDTOWithGivenTags(){
+
+        // when - action or the behaviour that we are going to test
+        BlogDTO blogDTO = mapper.mapWithTags(blog, Set.of("Tag 1"));
+
+        // then - verify the output
+        assertThat(blogDTO.getTags()).containsExactly("Tag 1");
+        assertThat(blogDTO.getContent()).isEqualTo(blog.getContent());
+        assertThat(blogDTO.getId()).isEqualTo(blog.getId());
+
+    }
+
+    // JUnit test for mapping summary projection to BlogDTO object with content summary
     @Test
-    public void givenBlogObject_whenMapBlogToBlogDTO_thenReturnBlogDTOObjectWithContentSummary(){
+    public void givenBlogSummaryView_whenMapBlogToBlogDTO_thenReturnBlogDTOObjectWithContentSummary(){
+
+        // given - precondition or setup
+        BlogSummaryView summaryView = summaryView(blog.getContent().substring(0, 100).concat("..."));
 
         // when - action or the behaviour that we are going to test
-        BlogDTO blogDTO = mapper.mapWithSummary(blog);
+        BlogDTO blogDTO = mapper.mapWithSummary(summaryView, Set.of("Tag 1", "Tag 2"));
 
         // then - verify the output
         assertThat(blogDTO.getTags().size()).isEqualTo(blog.getTags().size());
         assertThat(blogDTO.getContent().length()).isLessThan(blog.getContent().length());
+        assertThat(blogDTO.getContent()).endsWith("...");
         assertThat(blogDTO.getTitle()).isEqualTo(blog.getTitle());
         assertThat(blogDTO.getId()).isEqualTo(blog.getId());
 
     }
 
+    // JUnit test for mapping summary projection without tags
+    @Test
+    public void givenBlogSummaryViewWithoutTags_whenMapBlogToBlogDTO_thenReturnEmptyTags(){
+
+        // given - precondition or setup
+        BlogSummaryView summaryView = summaryView("Short content");
+
+        // when - action or the behaviour that we are going to test
+        BlogDTO blogDTO = mapper.mapWithSummary(summaryView, null);
+
+        // then - verify the output
+        assertThat(blogDTO.getContent()).isEqualTo("Short content");
+        assertThat(blogDTO.getTags()).isEmpty();
+
+    }
+
+    private static BlogSummaryView summaryView(String summary) {
+        return new BlogSummaryView() {
+            @Override
+            public Long getId() {
+                return blog.getId();
+            }
+
+            @Override
+            public String getTitle() {
+                return blog.getTitle();
+            }
+
+            @Override
+            public String getSummary() {
+                return summary;
+            }
+        };
+    }
+
 }
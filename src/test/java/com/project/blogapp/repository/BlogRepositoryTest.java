@@ -2,11 +2,17 @@ package com.project.blogapp.repository;
 
 import com.project.blogapp.entity.Blog;
 import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,7 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Sql(scripts = "classpath:schema-test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:schema-test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
 public class BlogRepositoryTest {
 
     @Autowired
@@ -26,6 +33,9 @@ public class BlogRepositoryTest {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
 
     // JUnit test for
     @Test
@@ -64,4 +74,184 @@ public class BlogRepositoryTest {
 
     }
 
+    // JUnit test for getBlogSummaryPageAfterId and getTagIdsByBlogIds
+    @Test
+    public void givenBlogAndTagObjects_whenGetBlogSummaryPage_thenReturnSummariesAndTags() {
+
+        // given - precondition or setup
+        Tag tag = Tag.builder()
+                .tag_name("Tag 1")
+                .build();
+        tagRepository.save(tag);
+
+        Blog blog = Blog.builder()
+                .title("Title")
+                .content("x".repeat(500))
+                .summary("x".repeat(100).concat("..."))
+                .build();
+        blog.getTags().add(tag);
+        blogRepository.save(blog);
+
+        // when - action or the behaviour that we are going to test
+        List<BlogSummaryView> summaries = blogRepository.getBlogSummaryPageAfterId(0L, PageRequest.of(0, 10));
+        List<BlogTagView> tags = blogRepository.getTagIdsByBlogIds(List.of(blog.getId()));
+
+        // then - verify the output
+        assertThat(summaries.size()).isEqualTo(1);
+        assertThat(summaries.get(0).getTitle()).isEqualTo("Title");
+        assertThat(summaries.get(0).getSummary()).isEqualTo(blog.getSummary());
+        assertThat(tags.size()).isEqualTo(1);
+        assertThat(tags.get(0).getTagId()).isEqualTo(tag.getId());
+
+    }
+
+    // JUnit test for getBlogsWithoutSummary
+    @Test
+    public void givenBlogsWithAndWithoutSummary_whenGetBlogsWithoutSummary_thenReturnOnlyMissingOnes() {
+
+        // given - precondition or setup
+        blogRepository.save(Blog.builder().title("Title 1").content("Content 1").summary("Content 1").build());
+        Blog missing = blogRepository.save(Blog.builder().title("Title 2").content("Content 2").build());
+
+        // when - action or the behaviour that we are going to test
+        List<Blog> blogs = blogRepository.getBlogsWithoutSummary(PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(blogs.size()).isEqualTo(1);
+        assertThat(blogs.get(0).getId()).isEqualTo(missing.getId());
+
+    }
+
+    // JUnit test for linkTags and unlinkTags
+    @Test
+    public void givenBlogAndTagObjects_whenLinkTagsTwice_thenLinkOnlyOnce() {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Title").content("Content").build());
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Tag").build());
+
+        // when - action or the behaviour that we are going to test
+        int linked = blogRepository.linkTags(List.of(blog.getId(), 999_999L), List.of(tag.getId()));
+        int linkedAgain = blogRepository.linkTags(List.of(blog.getId()), List.of(tag.getId()));
+        List<BlogTagView> tags = blogRepository.getTagIdsByBlogIds(List.of(blog.getId()));
+        int unlinked = blogRepository.unlinkTags(blog.getId(), List.of(tag.getId()));
+
+        // then - verify the output
+        assertThat(linked).isEqualTo(1);
+        assertThat(linkedAgain).isZero();
+        assertThat(tags.size()).isEqualTo(1);
+        assertThat(unlinked).isEqualTo(1);
+        assertThat(blogRepository.getTagIdsByBlogIds(List.of(blog.getId()))).isEmpty();
+
+    }
+
+    // JUnit test for linkTags inside a transaction which holds loaded entities
+    @Test
+    public void givenLoadedBlogs_whenLinkTags_thenKeepEntitiesManagedAndRefreshTags() {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Title").content("Content").build());
+        Blog other = blogRepository.save(Blog.builder().title("Other").content("Content").build());
+        Tag tag = tagRepository.save(Tag.builder().tag_name("Tag").build());
+        entityManager.flush();
+        entityManager.clear();
+        Blog loaded = blogRepository.findById(blog.getId()).orElseThrow();
+        assertThat(loaded.getTags()).isEmpty();
+        Blog loadedOther = blogRepository.findById(other.getId()).orElseThrow();
+
+        // when - action or the behaviour that we are going to test
+        int linked = blogRepository.linkTags(List.of(blog.getId()), List.of(tag.getId()));
+        loadedOther.setTitle("Changed");
+
+        // then - verify the output
+        assertThat(linked).isEqualTo(1);
+        assertThat(loaded.getTags()).extracting(Tag::getId).containsExactly(tag.getId());
+        assertThat(entityManager.contains(loadedOther)).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(blogRepository.findById(other.getId()).orElseThrow().getTitle()).isEqualTo("Changed");
+
+    }
+
+    // JUnit test for getBlogWithContentById method
+    @Test
+    public void givenSavedBlog_whenGetBlogWithContentById_thenContentIsLoaded() {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        Blog loaded = blogRepository.getBlogWithContentById(blog.getId()).orElseThrow();
+
+        // then - verify the output
+        assertThat(Hibernate.isInitialized(loaded.getBlogContent())).isTrue();
+        assertThat(loaded.getContent()).isEqualTo("Blog Content");
+
+    }
+
+    // JUnit test for loading a blog without its content
+    @Test
+    public void givenSavedBlog_whenFindById_thenContentIsNotLoaded() {
+
+        // given - precondition or setup
+        Blog blog = blogRepository.save(Blog.builder().title("Blog Title").content("Blog Content").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        Blog loaded = blogRepository.findById(blog.getId()).orElseThrow();
+
+        // then - verify the output
+        assertThat(Hibernate.isInitialized(loaded.getBlogContent())).isFalse();
+        assertThat(loaded.getContent()).isEqualTo("Blog Content");
+
+    }
+
+    // JUnit test for getContentStoreReferences
+    @Test
+    public void givenStoredAndInlineContent_whenGetContentStoreReferences_thenReturnOnlyReferences() {
+
+        // given - precondition or setup
+        String reference = "sha256:" + "ab".repeat(32);
+        Blog stored = blogRepository.save(Blog.builder().title("Stored").content("Stored content").build());
+        blogRepository.save(Blog.builder().title("Inline").content("Inline content").build());
+        blogRepository.save(Blog.builder().title("Literal").content(reference).build());
+        entityManager.flush();
+        // Written the way the enabled content store writes it
+        entityManager.createNativeQuery("update blog_content set content = :reference where blog_id = :id")
+                .setParameter("reference", reference)
+                .setParameter("id", stored.getId())
+                .executeUpdate();
+
+        // when - action or the behaviour that we are going to test
+        List<String> references = blogRepository.getContentStoreReferences();
+
+        // then - verify the output
+        assertThat(references).containsExactly(reference);
+
+    }
+
+    // JUnit test for a body which looks like a content store reference
+    @Test
+    public void givenBodyLikeReference_whenGetBlogWithContentById_thenReturnBodyAsWritten() {
+
+        // given - precondition or setup
+        String body = "sha256:" + "cd".repeat(32);
+        Blog blog = blogRepository.save(Blog.builder().title("Literal").content(body).build());
+        Blog marked = blogRepository.save(Blog.builder().title("Marked").content("inline:body").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        Blog loaded = blogRepository.getBlogWithContentById(blog.getId()).orElseThrow();
+        Blog loadedMarked = blogRepository.getBlogWithContentById(marked.getId()).orElseThrow();
+
+        // then - verify the output
+        assertThat(loaded.getContent()).isEqualTo(body);
+        assertThat(loadedMarked.getContent()).isEqualTo("inline:body");
+
+    }
+
 }
@@ -0,0 +1,183 @@
+package com.project.blogapp.routing;
+
+import com.project.blogapp.service.CatalogVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private ReplicaSet replicaSet;
+
+    // Time of the last write, by default further back than the tolerated lag
+    private long lastWrite;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        // Every H2 instance names itself, the name tells which one answered
+        replicaSet = new ReplicaSet(List.of(
+                new ReplicaSet.Replica("replica-0", h2("replica0"), null),
+                new ReplicaSet.Replica("replica-1", h2("replica1"), "select 10")));
+        CatalogVersion catalogVersion = new CatalogVersion() {
+            @Override
+            public long getLastWriteMillis() {
+                return lastWrite;
+            }
+        };
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(h2("primary"), replicaSet, catalogVersion, Duration.ofSeconds(5)));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RoutingContext.clear();
+    }
+
+    // JUnit test for read-only transactions
+    @Test
+    public void givenReadOnlyTransactions_whenQuery_thenUseReplicasInTurn(){
+
+        // given - precondition or setup
+        transactionTemplate.setReadOnly(true);
+
+        // when - action or the behaviour that we are going to test
+        String first = transactionTemplate.execute(status -> database());
+        String second = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica0", "replica1");
+
+    }
+
+    // JUnit test for read-write transactions
+    @Test
+    public void givenReadWriteTransaction_whenQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        String database = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(database).isEqualTo("primary");
+
+    }
+
+    // JUnit test for reads of a client after its write
+    @Test
+    public void givenPrimaryRequired_whenReadOnlyQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+        transactionTemplate.setReadOnly(true);
+        RoutingContext.requirePrimary();
+
+        // when - action or the behaviour that we are going to test
+        String database = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(database).isEqualTo("primary");
+
+    }
+
+    // JUnit test for reads within the replication lag after a write
+    @Test
+    public void givenRecentWrite_whenReadOnlyQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+        lastWrite = System.currentTimeMillis();
+        transactionTemplate.setReadOnly(true);
+
+        // when - action or the behaviour that we are going to test
+        String database = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(database).isEqualTo("primary");
+
+    }
+
+    // JUnit test for reads once the replication lag after a burst of writes is over
+    @Test
+    public void givenManyWrites_whenReplicationLagIsOver_thenUseReplica() throws InterruptedException {
+
+        // given - precondition or setup
+        CatalogVersion catalogVersion = new CatalogVersion();
+        Duration maxReplicationLag = Duration.ofMillis(200);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(h2("primary"), replicaSet, catalogVersion, maxReplicationLag));
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTemplate.setReadOnly(true);
+        for (int i = 0; i < 1000; i++)
+            catalogVersion.bump();
+        String duringLag = readOnlyTemplate.execute(status -> template.queryForObject("select database()", String.class));
+
+        // when - action or the behaviour that we are going to test
+        Thread.sleep(maxReplicationLag.toMillis() + 50);
+        String afterLag = readOnlyTemplate.execute(status -> template.queryForObject("select database()", String.class));
+
+        // then - verify the output
+        assertThat(duringLag).isEqualTo("primary");
+        assertThat(afterLag).startsWith("replica");
+
+    }
+
+    // JUnit test for replicas behind the tolerated lag
+    @Test
+    public void givenLaggingReplica_whenCheck_thenSkipIt(){
+
+        // given - precondition or setup
+        transactionTemplate.setReadOnly(true);
+
+        // when - action or the behaviour that we are going to test
+        replicaSet.check(Duration.ofSeconds(5));
+        String first = transactionTemplate.execute(status -> database());
+        String second = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(replicaSet.getReplicas()).extracting(ReplicaSet.Replica::isAvailable).containsExactly(true, false);
+        assertThat(List.of(first, second)).containsOnly("replica0");
+
+    }
+
+    // JUnit test for no available replica
+    @Test
+    public void givenNoAvailableReplica_whenReadOnlyQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+        transactionTemplate.setReadOnly(true);
+        replicaSet.check(Duration.ofSeconds(-1));
+
+        // when - action or the behaviour that we are going to test
+        String database = transactionTemplate.execute(status -> database());
+
+        // then - verify the output
+        assertThat(database).isEqualTo("primary");
+
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE", "sa", "");
+    }
+
+}
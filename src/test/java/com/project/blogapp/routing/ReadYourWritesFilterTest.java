@@ -0,0 +1,58 @@
+package com.project.blogapp.routing;
+
+import com.project.blogapp.config.BlogProperties;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(new BlogProperties());
+
+    // JUnit test for a modifying request
+    @Test
+    public void givenPostRequest_whenFilter_thenUsePrimaryAndSetCookie() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/blog");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        // when - action or the behaviour that we are going to test
+        filter.doFilter(request, response, (req, res) -> primaryRequired.set(RoutingContext.isPrimaryRequired()));
+
+        // then - verify the output
+        assertThat(primaryRequired).isTrue();
+        assertThat(response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE)).isNotNull();
+        assertThat(RoutingContext.isPrimaryRequired()).isFalse();
+
+    }
+
+    // JUnit test for reads with and without a recent write
+    @Test
+    public void givenLastWriteCookie_whenFilterGetRequest_thenUsePrimaryWithinWindow() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletRequest recent = new MockHttpServletRequest("GET", "/api/blog");
+        recent.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis())));
+        MockHttpServletRequest old = new MockHttpServletRequest("GET", "/api/blog");
+        old.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, "0"));
+        AtomicBoolean recentPrimary = new AtomicBoolean();
+        AtomicBoolean oldPrimary = new AtomicBoolean();
+
+        // when - action or the behaviour that we are going to test
+        filter.doFilter(recent, new MockHttpServletResponse(), (req, res) -> recentPrimary.set(RoutingContext.isPrimaryRequired()));
+        filter.doFilter(old, new MockHttpServletResponse(), (req, res) -> oldPrimary.set(RoutingContext.isPrimaryRequired()));
+
+        // then - verify the output
+        assertThat(recentPrimary).isTrue();
+        assertThat(oldPrimary).isFalse();
+
+    }
+
+}
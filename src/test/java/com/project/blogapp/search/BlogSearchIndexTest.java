@@ -0,0 +1,131 @@
+package com.project.blogapp.search;
+
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.repository.projection.BlogContentView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class BlogSearchIndexTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @InjectMocks
+    private BlogSearchIndex blogSearchIndex;
+
+    // JUnit test for search ranking
+    @Test
+    public void givenIndexedBlogs_whenSearch_thenReturnHitsRankedByRelevance(){
+
+        // given - precondition or setup
+        blogSearchIndex.index(1L, "Spring Boot", "Dependency injection with the Spring container");
+        blogSearchIndex.index(2L, "Kubernetes", "Deploying a Spring application to a cluster");
+        blogSearchIndex.index(3L, "Gardening", "Growing tomatoes in spring");
+
+        // when - action or the behaviour that we are going to test
+        List<SearchHit> hits = blogSearchIndex.search("spring boot", 10);
+
+        // then - verify the output
+        assertThat(hits).extracting(SearchHit::getBlogId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(hits.get(0).getBlogId()).isEqualTo(1L);
+
+    }
+
+    // JUnit test for re-indexing an updated blog
+    @Test
+    public void givenReindexedBlog_whenSearch_thenOldTermsAreNotFound(){
+
+        // given - precondition or setup
+        blogSearchIndex.index(1L, "Old Title", "Obsolete words");
+        blogSearchIndex.index(1L, "New Title", "Fresh words");
+
+        // when - action or the behaviour that we are going to test
+        List<SearchHit> oldHits = blogSearchIndex.search("obsolete", 10);
+        List<SearchHit> newHits = blogSearchIndex.search("fresh", 10);
+
+        // then - verify the output
+        assertThat(oldHits).isEmpty();
+        assertThat(newHits).extracting(SearchHit::getBlogId).containsExactly(1L);
+        assertThat(blogSearchIndex.size()).isEqualTo(1);
+
+    }
+
+    // JUnit test for search with a limit and unknown terms
+    @Test
+    public void givenIndexedBlogs_whenSearchWithLimit_thenReturnAtMostLimitHits(){
+
+        // given - precondition or setup
+        blogSearchIndex.index(1L, "Java", "Java streams");
+        blogSearchIndex.index(2L, "Java", "Java records");
+        blogSearchIndex.index(3L, "Java", "Java modules");
+
+        // when - action or the behaviour that we are going to test
+        List<SearchHit> hits = blogSearchIndex.search("java", 2);
+        List<SearchHit> noHits = blogSearchIndex.search("cobol", 2);
+
+        // then - verify the output
+        assertThat(hits.size()).isEqualTo(2);
+        assertThat(noHits).isEmpty();
+
+    }
+
+    // JUnit test for writes made while the index is rebuilt
+    @Test
+    public void givenWriteDuringRebuild_whenRebuild_thenKeepWrittenTerms(){
+
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            // The chunk was read before these writes and is indexed after them
+            blogSearchIndex.index(1L, "New Title", "Fresh words");
+            blogSearchIndex.update(2L, "Patched", null);
+            blogSearchIndex.remove(3L);
+            return List.of(
+                    blogContent(1L, "Old Title", "Obsolete words"),
+                    blogContent(2L, "Other", "Unrelated words"),
+                    blogContent(3L, "Deleted", "Removed words"));
+        }).given(blogRepository).getBlogContentPageAfterId(anyLong(), any());
+
+        // when - action or the behaviour that we are going to test
+        blogSearchIndex.rebuild();
+
+        // then - verify the output
+        assertThat(blogSearchIndex.search("obsolete", 10)).isEmpty();
+        assertThat(blogSearchIndex.search("removed", 10)).isEmpty();
+        assertThat(blogSearchIndex.search("other", 10)).isEmpty();
+        assertThat(blogSearchIndex.search("fresh", 10)).extracting(SearchHit::getBlogId).containsExactly(1L);
+        assertThat(blogSearchIndex.search("patched unrelated", 10)).extracting(SearchHit::getBlogId).containsExactly(2L);
+        assertThat(blogSearchIndex.size()).isEqualTo(2);
+
+    }
+
+    private static BlogContentView blogContent(Long id, String title, String content) {
+        return new BlogContentView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getContent() {
+                return content;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.project.blogapp.search;
+
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.repository.projection.BlogTagView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class TagBitmapIndexTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @InjectMocks
+    private TagBitmapIndex tagBitmapIndex;
+
+    // Blogs 1-4, tag 10 on 1, 2, 3, tag 20 on 2, 3, tag 30 on 3, 4
+    @BeforeEach
+    void setUp() {
+        given(blogRepository.getAllBlogIds()).willReturn(List.of(1L, 2L, 3L, 4L));
+        given(blogRepository.getAllBlogTags()).willReturn(List.of(
+                blogTag(1L, 10L), blogTag(2L, 10L), blogTag(3L, 10L),
+                blogTag(2L, 20L), blogTag(3L, 20L),
+                blogTag(3L, 30L), blogTag(4L, 30L)));
+        tagBitmapIndex.rebuild();
+    }
+
+    // JUnit test for an all-of, any-of and none-of expression
+    @Test
+    public void givenTaggedBlogs_whenQueryWithTagExpression_thenReturnMatchingIds(){
+
+        // when - action or the behaviour that we are going to test
+        List<Long> allOf = tagBitmapIndex.query(new TagFilter(Set.of(10L, 20L), null, null), 0L, 10);
+        List<Long> anyOf = tagBitmapIndex.query(new TagFilter(null, Set.of(20L, 30L), null), 0L, 10);
+        List<Long> noneOf = tagBitmapIndex.query(new TagFilter(null, null, Set.of(20L)), 0L, 10);
+        List<Long> combined = tagBitmapIndex.query(new TagFilter(Set.of(10L), Set.of(20L, 30L), Set.of(30L)), 0L, 10);
+
+        // then - verify the output
+        assertThat(allOf).containsExactly(2L, 3L);
+        assertThat(anyOf).containsExactly(2L, 3L, 4L);
+        assertThat(noneOf).containsExactly(1L, 4L);
+        assertThat(combined).containsExactly(2L);
+
+    }
+
+    // JUnit test for paging through a result after link and unlink
+    @Test
+    public void givenLinkAndUnlink_whenQueryAfterCursor_thenReturnNextIds(){
+
+        // given - precondition or setup
+        tagBitmapIndex.addBlog(5L);
+        tagBitmapIndex.link(List.of(4L, 5L, 99L), 10L);
+        tagBitmapIndex.unlink(1L, 10L);
+
+        // when - action or the behaviour that we are going to test
+        TagFilter filter = new TagFilter(Set.of(10L), null, null);
+        List<Long> firstPage = tagBitmapIndex.query(filter, 0L, 2);
+        List<Long> secondPage = tagBitmapIndex.query(filter, firstPage.get(1), 2);
+
+        // then - verify the output
+        assertThat(firstPage).containsExactly(2L, 3L);
+        assertThat(secondPage).containsExactly(4L, 5L);
+
+    }
+
+    // JUnit test for changes made while the rebuild loads the table
+    @Test
+    public void givenChangesDuringRebuild_whenRebuild_thenKeepChanges(){
+
+        // given - precondition or setup
+        given(blogRepository.getAllBlogTags()).willAnswer(invocation -> {
+            tagBitmapIndex.addBlog(6L);
+            tagBitmapIndex.link(List.of(6L), 20L);
+            tagBitmapIndex.unlink(2L, 20L);
+            return List.of(blogTag(1L, 10L), blogTag(2L, 20L));
+        });
+
+        // when - action or the behaviour that we are going to test
+        tagBitmapIndex.rebuild();
+
+        // then - verify the output
+        assertThat(tagBitmapIndex.query(new TagFilter(Set.of(20L), null, null), 0L, 10)).containsExactly(6L);
+        assertThat(tagBitmapIndex.query(new TagFilter(null, null, Set.of(10L)), 0L, 10)).containsExactly(2L, 3L, 4L, 6L);
+
+    }
+
+    private static BlogTagView blogTag(Long blogId, Long tagId) {
+        return new BlogTagView() {
+            @Override
+            public Long getBlogId() {
+                return blogId;
+            }
+
+            @Override
+            public Long getTagId() {
+                return tagId;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.project.blogapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.StreamedPageDTO;
+import com.project.blogapp.entity.Blog;
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagLink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlogJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BlogJsonWriter blogJsonWriter;
+
+    @BeforeEach
+    public void setUp() {
+        TagDictionary tagDictionary = new TagDictionary(null);
+        tagDictionary.put(Tag.builder().id(1L).tag_name("Tag 1").build());
+        tagDictionary.put(Tag.builder().id(2L).tag_name("Tag 2").build());
+        blogJsonWriter = new BlogJsonWriter(tagDictionary);
+    }
+
+    // JUnit test for writeBlogs method
+    @Test
+    public void givenBlogsAndTagLinks_whenWriteBlogs_thenWriteLikeBlogDTOs() throws IOException {
+
+        // given - precondition or setup
+        List<Blog> blogs = List.of(
+                Blog.builder().id(3L).title("Title 3").content("Content \"3\"").version(2L).build(),
+                Blog.builder().id(1L).title("Title 1").content("Content 1").version(0L).build(),
+                Blog.builder().id(2L).title("Title 2").content("Content 2").version(1L).build());
+        List<BlogTagLink> links = List.of(new BlogTagLink(1L, 1L), new BlogTagLink(3L, 2L), new BlogTagLink(3L, 1L));
+
+        // when - action or the behaviour that we are going to test
+        String json = write(generator -> blogJsonWriter.writeBlogs(generator, blogs, links));
+
+        // then - verify the output
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(List.of(
+                BlogDTO.builder().id(3L).title("Title 3").content("Content \"3\"").tags(new TreeSet<>(Set.of("Tag 2", "Tag 1"))).version(2L).build(),
+                BlogDTO.builder().id(1L).title("Title 1").content("Content 1").tags(Set.of("Tag 1")).version(0L).build(),
+                BlogDTO.builder().id(2L).title("Title 2").content("Content 2").tags(Set.of()).version(1L).build())));
+
+    }
+
+    // JUnit test for writeSummaries method
+    @Test
+    public void givenSummaries_whenWriteSummaries_thenWriteSummaryAsContent() throws IOException {
+
+        // given - precondition or setup
+        BlogSummaryView summary = new BlogSummaryView() {
+            public Long getId() { return 1L; }
+            public String getTitle() { return "Title 1"; }
+            public String getSummary() { return "Summary 1"; }
+        };
+
+        // when - action or the behaviour that we are going to test
+        String json = write(generator -> blogJsonWriter.writeSummaries(generator, List.of(summary), List.of(new BlogTagLink(1L, 2L))));
+
+        // then - verify the output
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(List.of(
+                BlogDTO.builder().id(1L).title("Title 1").content("Summary 1").tags(Set.of("Tag 2")).build())));
+
+    }
+
+    private String write(StreamedPageDTO.Writer writer) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writer.write(generator);
+        }
+        return out.toString();
+    }
+
+}
@@ -1,22 +1,45 @@
 package com.project.blogapp.service;
 
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchResultDTO;
 import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.dto.BlogPatchDTO;
+import com.project.blogapp.dto.TagUpdateResultDTO;
 import com.project.blogapp.entity.Blog;
 import com.project.blogapp.entity.Tag;
+import com.project.blogapp.exception.BlogNotFoundException;
+import com.project.blogapp.exception.VersionConflictException;
 import com.project.blogapp.mapper.blog.BlogDTOToBlogMapper;
 import com.project.blogapp.mapper.blog.BlogToBlogDTOMapper;
 import com.project.blogapp.repository.BlogRepository;
-import com.project.blogapp.repository.TagRepository;
+import com.project.blogapp.repository.projection.BlogSummaryView;
+import com.project.blogapp.repository.projection.BlogTagView;
+import com.project.blogapp.search.BlogSearchIndex;
+import com.project.blogapp.search.SearchHit;
+import com.project.blogapp.search.TagBitmapIndex;
+import com.project.blogapp.util.CursorUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,15 +51,39 @@ public class BlogServiceTest {
     @Mock
     private BlogRepository blogRepository;
 
-    @Mock
-    private TagRepository tagRepository;
-
     @Mock
     private BlogDTOToBlogMapper blogDTOToBlogMapper;
 
     @Mock
     private BlogToBlogDTOMapper blogToBlogDTOMapper;
 
+    @Mock
+    private BlogSearchIndex blogSearchIndex;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @Mock
+    private BlogBatchWriter blogBatchWriter;
+
+    @Spy
+    private BlogProperties blogProperties = new BlogProperties();
+
+    @Spy
+    private SummaryGenerator summaryGenerator = new SummaryGenerator(blogProperties);
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TagCounts tagCounts;
+
+    @Mock
+    private TagBitmapIndex tagBitmapIndex;
+
     @InjectMocks
     private BlogServiceImpl blogService;
 
@@ -62,32 +109,62 @@ public class BlogServiceTest {
 
         // then - verify the output
         verify(blogRepository, times(1)).save(blog);
+        verify(blogSearchIndex, times(1)).index(blog.getId(), "Blog Title", "Blog Content");
+        assertThat(blog.getSummary()).isEqualTo("Blog Content");
 
     }
 
-    // JUnit test for getAllBlogPostsWithSummaries
+    // JUnit test for saveBlogs method
+    @Test
+    public void givenBlogDTOList_whenSaveBlogs_thenDelegateToBatchWriter(){
+
+        // given - precondition or setup
+        Iterator<BlogDTO> blogDTOs = List.of(BlogDTO.builder().title("Blog Title").content("Blog Content").build()).iterator();
+        BatchResultDTO batchResult = BatchResultDTO.builder().total(1).created(1).build();
+        given(blogBatchWriter.write(blogDTOs)).willReturn(batchResult);
+
+        // when - action or the behaviour that we are going to test
+        BatchResultDTO result = blogService.saveBlogs(blogDTOs);
+
+        // then - verify the output
+        assertThat(result).isSameAs(batchResult);
+
+    }
+
+    // JUnit test for getBlogPostsWithSummaries
     @Test
     public void givenBlogList_whenGetAllBlogPosts_thenReturnBlogListWithSummaries(){
 
         // given - precondition or setup
-        Blog blog = Blog.builder()
-                .title("Blog Title")
-                .content("Blog Content")
-                .build();
+        BlogSummaryView summary = summaryView(1L, "Blog Title", "Blog Content");
+        BlogSummaryView summary2 = summaryView(2L, "Blog Title 2", "Blog Content 2");
 
-        Blog blog2 = Blog.builder()
-                .title("Blog Title 2")
-                .content("Blog Content 2")
-                .build();
+        BlogTagView tag = new BlogTagView() {
+            @Override
+            public Long getBlogId() {
+                return 1L;
+            }
 
-        given(blogRepository.findAll()).willReturn(List.of(blog, blog2));
+            @Override
+            public Long getTagId() {
+                return 1L;
+            }
+        };
+
+        given(blogRepository.getBlogSummaryPageAfterId(eq(0L), any(Pageable.class))).willReturn(List.of(summary, summary2));
+        given(blogRepository.getTagIdsByBlogIds(List.of(1L, 2L))).willReturn(List.of(tag));
+        given(tagDictionary.getTagNamesByBlog(List.of(tag))).willReturn(Map.of(1L, Set.of("Tag 1")));
 
         // when - action or the behaviour that we are going to test
-        List<BlogDTO> blogList = blogService.getAllBlogPostsWithSummaries();
+        BlogPageDTO blogPage = blogService.getBlogPostsWithSummaries(null, null);
 
         // then - verify the output
-        assertThat(blogList).isNotNull();
-        assertThat(blogList.size()).isEqualTo(2);
+        assertThat(blogPage.getItems()).isNotNull();
+        assertThat(blogPage.getItems().size()).isEqualTo(2);
+        assertThat(blogPage.getNextCursor()).isNull();
+        verify(blogToBlogDTOMapper, times(1)).mapWithSummary(summary, Set.of("Tag 1"));
+        verify(blogToBlogDTOMapper, times(1)).mapWithSummary(summary2, null);
+        verify(blogRepository, never()).findAll();
 
     }
 
@@ -106,14 +183,103 @@ public class BlogServiceTest {
                 .content("Blog Content 2")
                 .build();
 
-        given(blogRepository.findAll()).willReturn(List.of(blog, blog2));
+        given(blogRepository.getBlogPageAfterId(eq(0L), any(Pageable.class))).willReturn(List.of(blog, blog2));
+
+        // when - action or the behaviour that we are going to test
+        BlogPageDTO blogPage = blogService.getBlogPosts(null, null);
+
+        // then - verify the output
+        assertThat(blogPage.getItems()).isNotNull();
+        assertThat(blogPage.getItems().size()).isEqualTo(2);
+        assertThat(blogPage.getNextCursor()).isNull();
+
+    }
+
+    // JUnit test for getBlogPosts with a limit smaller than the result
+    @Test
+    public void givenBlogList_whenGetBlogPostsWithLimit_thenReturnPageWithNextCursor(){
+
+        // given - precondition or setup
+        List<Blog> blogs = new ArrayList<>();
+        LongStream.rangeClosed(5, 7).forEach(id -> blogs.add(Blog.builder()
+                .id(id)
+                .title("Title " + id)
+                .content("Content " + id)
+                .build()));
+
+        given(blogRepository.getBlogPageAfterId(4L, PageRequest.of(0, 3))).willReturn(blogs);
 
         // when - action or the behaviour that we are going to test
-        List<BlogDTO> blogList = blogService.getAllBlogPosts();
+        BlogPageDTO blogPage = blogService.getBlogPosts(CursorUtils.encode(4L), 2);
 
         // then - verify the output
-        assertThat(blogList).isNotNull();
-        assertThat(blogList.size()).isEqualTo(2);
+        assertThat(blogPage.getItems().size()).isEqualTo(2);
+        assertThat(CursorUtils.decode(blogPage.getNextCursor())).isEqualTo(6L);
+
+    }
+
+    // JUnit test for getBlogPosts with a limit above the configured maximum
+    @Test
+    public void givenTooLargeLimit_whenGetBlogPosts_thenClampToMaxPageSize(){
+
+        // given - precondition or setup
+        int maxSize = blogProperties.getPagination().getMaxSize();
+        given(blogRepository.getBlogPageAfterId(0L, PageRequest.of(0, maxSize + 1))).willReturn(List.of());
+
+        // when - action or the behaviour that we are going to test
+        BlogPageDTO blogPage = blogService.getBlogPosts(null, maxSize * 10);
+
+        // then - verify the output
+        assertThat(blogPage.getItems()).isEmpty();
+        verify(blogRepository, times(1)).getBlogPageAfterId(0L, PageRequest.of(0, maxSize + 1));
+
+    }
+
+    // JUnit test for getBlogPosts with a malformed cursor
+    @Test
+    public void givenInvalidCursor_whenGetBlogPosts_thenThrowError(){
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> blogService.getBlogPosts("not-a-cursor", null));
+
+        // then - verify the output
+        verify(blogRepository, never()).getBlogPageAfterId(anyLong(), any(Pageable.class));
+
+    }
+
+    // JUnit test for searchBlogPosts method
+    @Test
+    public void givenSearchHits_whenSearchBlogPosts_thenReturnSummariesInRankOrder(){
+
+        // given - precondition or setup
+        BlogSummaryView summary = summaryView(1L, "Blog Title", "Blog Content");
+        BlogSummaryView summary2 = summaryView(2L, "Blog Title 2", "Blog Content 2");
+        BlogDTO blogDTO = BlogDTO.builder().id(1L).build();
+        BlogDTO blogDTO2 = BlogDTO.builder().id(2L).build();
+
+        given(blogSearchIndex.search("blog", blogProperties.getPagination().getDefaultSize()))
+                .willReturn(List.of(new SearchHit(2L, 2.0), new SearchHit(1L, 1.0)));
+        given(blogRepository.getBlogSummariesByIds(List.of(2L, 1L))).willReturn(List.of(summary, summary2));
+        given(blogToBlogDTOMapper.mapWithSummary(summary, null)).willReturn(blogDTO);
+        given(blogToBlogDTOMapper.mapWithSummary(summary2, null)).willReturn(blogDTO2);
+
+        // when - action or the behaviour that we are going to test
+        List<BlogDTO> blogList = blogService.searchBlogPosts("blog", null);
+
+        // then - verify the output
+        assertThat(blogList).containsExactly(blogDTO2, blogDTO);
+
+    }
+
+    // JUnit test for searchBlogPosts method (negative - empty query)
+    @Test
+    public void givenEmptyQuery_whenSearchBlogPosts_thenThrowError(){
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> blogService.searchBlogPosts(" ", null));
+
+        // then - verify the output
+        verify(blogSearchIndex, never()).search(anyString(), anyInt());
 
     }
 
@@ -141,6 +307,7 @@ public class BlogServiceTest {
 
         // then - verify the output
         verify(blogRepository, times(1)).save(blog);
+        assertThat(blog.getSummary()).isEqualTo("Blog Content Updated");
 
     }
 
@@ -166,6 +333,90 @@ public class BlogServiceTest {
 
     }
 
+    // JUnit test for patchBlog method
+    @Test
+    public void givenContentPatch_whenPatchBlog_thenUpdateWithoutReading(){
+
+        // given - precondition or setup
+        long blogId = 1L;
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .content("Blog Content Patched")
+                .build();
+
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        given(blogRepository.patchBlog(blogId, null, "Blog Content Patched", null))
+                .willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        blogService.patchBlog(blogId, blogPatchDTO);
+
+        // then - verify the output
+        verify(blogRepository).updateContent(blogId, "Blog Content Patched");
+        verify(blogRepository, never()).findById(any());
+        verify(blogSearchIndex).update(blogId, null, "Blog Content Patched");
+
+    }
+
+    // JUnit test for patchBlog method (negative)
+    @Test
+    public void givenStaleVersion_whenPatchBlog_thenThrowConflict(){
+
+        // given - precondition or setup
+        long blogId = 1L;
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .title("Blog Title Patched")
+                .expectedVersion(3L)
+                .build();
+
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        given(blogRepository.patchBlog(blogId, "Blog Title Patched", null, 3L))
+                .willReturn(0);
+        given(blogRepository.existsById(blogId))
+                .willReturn(true);
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(VersionConflictException.class, () -> blogService.patchBlog(blogId, blogPatchDTO));
+
+        // then - verify the output
+        verify(blogRepository, never()).updateContent(anyLong(), anyString());
+        verify(blogSearchIndex, never()).update(anyLong(), any(), any());
+
+    }
+
+    // JUnit test for patchBlog method with an unknown blog
+    @Test
+    public void givenUnknownBlog_whenPatchBlog_thenThrowNotFound(){
+
+        // given - precondition or setup
+        long blogId = 1L;
+        BlogPatchDTO blogPatchDTO = BlogPatchDTO.builder()
+                .title("Blog Title Patched")
+                .build();
+
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        given(blogRepository.patchBlog(blogId, "Blog Title Patched", null, null))
+                .willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(BlogNotFoundException.class, () -> blogService.patchBlog(blogId, blogPatchDTO));
+
+        // then - verify the output
+        verify(blogRepository, never()).existsById(any());
+
+    }
+
     // JUnit test for getAllBlogPostsByTag method
     @Test
     public void givenTagAndBlogObjects_whenGetAllBlogPostsByTag_thenReturnBlogList(){
@@ -188,8 +439,8 @@ public class BlogServiceTest {
                 }
         );
 
-        given(tagRepository.findById(tag.getId()))
-                .willReturn(Optional.of(tag));
+        given(tagDictionary.contains(tag.getId()))
+                .willReturn(true);
         given(blogRepository.getAllBlogsByTagId(tag.getId()))
                 .willReturn(blogs);
 
@@ -210,8 +461,8 @@ public class BlogServiceTest {
         // given - precondition or setup
         long givenId = 1L;
 
-        given(tagRepository.findById(givenId))
-                .willReturn(Optional.empty());
+        given(tagDictionary.contains(givenId))
+                .willReturn(false);
 
         // when - action or the behaviour that we are going to test
         assertThrows(RuntimeException.class, () -> blogService.getAllBlogPostsByTag(givenId));
@@ -226,31 +477,49 @@ public class BlogServiceTest {
     public void givenTagAndBlogObjects_whenAddTag_thenSuccessfull(){
 
         // given - precondition or setup
-        Blog blog = Blog.builder()
-                .id(1L)
-                .title("Blog Title")
-                .content("Blog Content")
-                .build();
+        long blogId = 1L;
+        long tagId = 1L;
 
-        Tag tag = Tag.builder()
-                .id(1L)
-                .tag_name("Tag 1")
-                .build();
+        given(tagDictionary.contains(tagId))
+                .willReturn(true);
 
-        given(blogRepository.findById(blog.getId()))
-                .willReturn(Optional.of(blog));
+        given(blogRepository.linkTags(List.of(blogId), List.of(tagId)))
+                .willReturn(1);
 
-        given(tagRepository.findById(tag.getId()))
-                .willReturn(Optional.of(tag));
+        // when - action or the behaviour that we are going to test
+        blogService.addTag(blogId, tagId);
+
+        // then - verify the output
+        verify(blogRepository, times(1)).linkTags(List.of(blogId), List.of(tagId));
+        verify(blogRepository, never()).findById(blogId);
+        verify(blogRepository, never()).existsById(blogId);
+        verify(blogRepository, never()).save(any(Blog.class));
 
-        blog.getTags().add(tag);
-        given(blogRepository.save(blog)).willReturn(blog);
+    }
+
+    // JUnit test for addTag method with an existing link
+    @Test
+    public void givenLinkedTag_whenAddTag_thenDoNothing(){
+
+        // given - precondition or setup
+        long blogId = 1L;
+        long tagId = 1L;
+
+        given(tagDictionary.contains(tagId))
+                .willReturn(true);
+
+        given(blogRepository.linkTags(List.of(blogId), List.of(tagId)))
+                .willReturn(0);
+
+        given(blogRepository.existsById(blogId))
+                .willReturn(true);
 
         // when - action or the behaviour that we are going to test
-        blogService.addTag(blog.getId(), tag.getId());
+        blogService.addTag(blogId, tagId);
 
         // then - verify the output
-        verify(blogRepository, times(1)).save(blog);
+        verify(blogRepository, times(1)).existsById(blogId);
+        verify(catalogVersion, never()).bump();
 
     }
 
@@ -262,16 +531,20 @@ public class BlogServiceTest {
         long blogId = 1L;
         long tagId = 1L;
 
-        given(blogRepository.findById(blogId))
-                .willReturn(Optional.empty());
+        given(tagDictionary.contains(tagId))
+                .willReturn(true);
+
+        given(blogRepository.linkTags(List.of(blogId), List.of(tagId)))
+                .willReturn(0);
+
+        given(blogRepository.existsById(blogId))
+                .willReturn(false);
 
         // when - action or the behaviour that we are going to test
         assertThrows(RuntimeException.class, () -> blogService.addTag(blogId, tagId));
 
-
         // then - verify the output
-        verify(tagRepository, never()).findById(tagId);
-        verify(blogRepository, never()).save(any(Blog.class));
+        verify(catalogVersion, never()).bump();
 
     }
 
@@ -280,25 +553,17 @@ public class BlogServiceTest {
     public void givenTagAndBlogObjects_whenAddTag_throwErrorsForAbsenceOfTag(){
 
         // given - precondition or setup
-        Blog blog = Blog.builder()
-                .id(1L)
-                .title("Blog Title")
-                .content("Blog Content")
-                .build();
-
+        long blogId = 1L;
         long tagId = 1L;
 
-        given(blogRepository.findById(blog.getId()))
-                .willReturn(Optional.of(blog));
-
-        given(tagRepository.findById(tagId))
-                .willReturn(Optional.empty());
+        given(tagDictionary.contains(tagId))
+                .willReturn(false);
 
         // when - action or the behaviour that we are going to test
-        assertThrows(RuntimeException.class, () -> blogService.addTag(blog.getId(), tagId));
+        assertThrows(RuntimeException.class, () -> blogService.addTag(blogId, tagId));
 
         // then - verify the output
-        verify(blogRepository, never()).save(any(Blog.class));
+        verify(blogRepository, never()).linkTags(anyCollection(), anyCollection());
 
     }
 
@@ -307,33 +572,22 @@ public class BlogServiceTest {
     public void givenTagAndBlogObjects_whenDiscardTag_thenSuccessfull(){
 
         // given - precondition or setup
-        Blog blog = Blog.builder()
-                .id(1L)
-                .title("Blog Title")
-                .content("Blog Content")
-                .build();
-
-        Tag tag = Tag.builder()
-                .id(1L)
-                .tag_name("Tag 1")
-                .build();
-
-        blog.getTags().add(tag);
-
-        given(blogRepository.findById(blog.getId()))
-                .willReturn(Optional.of(blog));
+        long blogId = 1L;
+        long tagId = 1L;
 
-        given(tagRepository.findById(tag.getId()))
-                .willReturn(Optional.of(tag));
+        given(tagDictionary.contains(tagId))
+                .willReturn(true);
 
-        blog.getTags().remove(tag);
-        given(blogRepository.save(blog)).willReturn(blog);
+        given(blogRepository.unlinkTags(blogId, List.of(tagId)))
+                .willReturn(1);
 
         // when - action or the behaviour that we are going to test
-        blogService.discardTag(blog.getId(), tag.getId());
+        blogService.discardTag(blogId, tagId);
 
         // then - verify the output
-        verify(blogRepository, times(1)).save(blog);
+        verify(blogRepository, times(1)).unlinkTags(blogId, List.of(tagId));
+        verify(blogRepository, never()).findById(blogId);
+        verify(blogRepository, never()).save(any(Blog.class));
 
     }
 
@@ -345,16 +599,20 @@ public class BlogServiceTest {
         long blogId = 1L;
         long tagId = 1L;
 
-        given(blogRepository.findById(blogId))
-                .willReturn(Optional.empty());
+        given(tagDictionary.contains(tagId))
+                .willReturn(true);
+
+        given(blogRepository.unlinkTags(blogId, List.of(tagId)))
+                .willReturn(0);
+
+        given(blogRepository.existsById(blogId))
+                .willReturn(false);
 
         // when - action or the behaviour that we are going to test
         assertThrows(RuntimeException.class, () -> blogService.discardTag(blogId, tagId));
 
-
         // then - verify the output
-        verify(tagRepository, never()).findById(tagId);
-        verify(blogRepository, never()).save(any(Blog.class));
+        verify(catalogVersion, never()).bump();
 
     }
 
@@ -363,29 +621,101 @@ public class BlogServiceTest {
     public void givenTagAndBlogObjects_whenDiscardTag_throwErrorsForAbsenceOfTag(){
 
         // given - precondition or setup
-        Blog blog = Blog.builder()
-                .id(1L)
-                .title("Blog Title")
-                .content("Blog Content")
-                .build();
-
+        long blogId = 1L;
         long tagId = 1L;
 
-        given(blogRepository.findById(blog.getId()))
-                .willReturn(Optional.of(blog));
+        given(tagDictionary.contains(tagId))
+                .willReturn(false);
 
-        given(tagRepository.findById(tagId))
-                .willReturn(Optional.empty());
+        // when - action or the behaviour that we are going to test
+        assertThrows(RuntimeException.class, () -> blogService.discardTag(blogId, tagId));
+
+        // then - verify the output
+        verify(blogRepository, never()).unlinkTags(anyLong(), anyCollection());
+
+    }
+
+    // JUnit test for setTags method
+    @Test
+    public void givenTaggedBlog_whenSetTags_thenReplaceLinksAndAdjustCounts(){
+
+        // given - precondition or setup
+        long blogId = 1L;
+        BlogTagView kept = blogTag(blogId, 1L);
+        BlogTagView removed = blogTag(blogId, 3L);
+
+        given(tagDictionary.contains(anyLong()))
+                .willReturn(true);
+
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        given(blogRepository.getTagIdsByBlogIds(List.of(blogId)))
+                .willReturn(List.of(kept, removed));
+
+        given(blogRepository.linkTags(List.of(blogId), Set.of(2L)))
+                .willReturn(1);
+
+        given(blogRepository.unlinkTags(blogId, Set.of(3L)))
+                .willReturn(1);
 
         // when - action or the behaviour that we are going to test
-        assertThrows(RuntimeException.class, () -> blogService.discardTag(blog.getId(), tagId));
+        TagUpdateResultDTO result = blogService.setTags(blogId, Set.of(1L, 2L));
 
         // then - verify the output
-        verify(blogRepository, never()).save(any(Blog.class));
+        assertThat(result.getAdded()).isEqualTo(1);
+        assertThat(result.getRemoved()).isEqualTo(1);
+        verify(tagCounts, times(1)).add(2L, 1);
+        verify(tagCounts, times(1)).add(3L, -1);
+        verify(tagCounts, never()).add(eq(1L), anyLong());
+        verify(catalogVersion, times(1)).bump();
+
+    }
+
+    // JUnit test for tagBlogs method (negative - no blog ids)
+    @Test
+    public void givenNoBlogIds_whenTagBlogs_thenThrowError(){
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> blogService.tagBlogs(Set.of(), Set.of(1L)));
+
+        // then - verify the output
+        verify(blogRepository, never()).linkTags(anyCollection(), anyCollection());
 
     }
 
 
+    private static BlogSummaryView summaryView(Long id, String title, String summary) {
+        return new BlogSummaryView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
 
+            @Override
+            public String getSummary() {
+                return summary;
+            }
+        };
+    }
+
+    private static BlogTagView blogTag(Long blogId, Long tagId) {
+        return new BlogTagView() {
+            @Override
+            public Long getBlogId() {
+                return blogId;
+            }
+
+            @Override
+            public Long getTagId() {
+                return tagId;
+            }
+        };
+    }
 
 }
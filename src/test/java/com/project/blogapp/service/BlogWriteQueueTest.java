@@ -0,0 +1,154 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BatchItemResultDTO;
+import com.project.blogapp.dto.BatchResultDTO;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.WriteStatusDTO;
+import com.project.blogapp.exception.WriteQueueFullException;
+import com.project.blogapp.exception.WriteQueueStoppedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BlogWriteQueueTest {
+
+    @Mock
+    private BlogService blogService;
+
+    private BlogWriteQueue blogWriteQueue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (blogWriteQueue != null)
+            blogWriteQueue.stop();
+    }
+
+    // JUnit test for submissions committed as one group
+    @Test
+    public void givenSubmissionsWithinLingerTime_whenWrite_thenSaveAsOneGroup() throws Exception {
+
+        // given - precondition or setup
+        blogWriteQueue = start(true, 100, 10, Duration.ofMillis(200));
+        given(blogService.saveBlogs(any())).willAnswer(invocation -> created(invocation.getArgument(0)));
+
+        // when - action or the behaviour that we are going to test
+        List<WriteStatusDTO> submitted = IntStream.range(0, 3)
+                .mapToObj(i -> blogWriteQueue.submit(blogDTO(i)))
+                .collect(Collectors.toList());
+        blogWriteQueue.stop();
+
+        // then - verify the output
+        assertThat(submitted).extracting(WriteStatusDTO::getStatus).containsOnly(WriteStatusDTO.Status.QUEUED);
+        assertThat(submitted).extracting(status -> blogWriteQueue.getStatus(status.getId()).orElseThrow().getBlogId())
+                .containsExactly(100L, 101L, 102L);
+        assertThat(blogWriteQueue.getStatus(submitted.get(0).getId()).orElseThrow().getStatus())
+                .isEqualTo(WriteStatusDTO.Status.CREATED);
+        verify(blogService, times(1)).saveBlogs(any());
+
+    }
+
+    // JUnit test for submit method when the queue is full
+    @Test
+    public void givenFullQueue_whenSubmit_thenThrowError() throws Exception {
+
+        // given - precondition or setup
+        blogWriteQueue = start(true, 1, 1, Duration.ZERO);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(blogService.saveBlogs(any())).willAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return created(invocation.getArgument(0));
+        });
+        blogWriteQueue.submit(blogDTO(0));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        blogWriteQueue.submit(blogDTO(1));
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(WriteQueueFullException.class, () -> blogWriteQueue.submit(blogDTO(2)));
+
+        // then - verify the output
+        assertThat(blogWriteQueue.getQueued()).isEqualTo(1);
+        release.countDown();
+
+    }
+
+    // JUnit test for submit method after the writer stopped
+    @Test
+    public void givenStoppedWriter_whenSubmit_thenThrowError() throws Exception {
+
+        // given - precondition or setup
+        blogWriteQueue = start(true, 10, 10, Duration.ZERO);
+        blogWriteQueue.stop();
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(WriteQueueStoppedException.class, () -> blogWriteQueue.submit(blogDTO(0)));
+
+        // then - verify the output
+        assertThat(blogWriteQueue.getQueued()).isZero();
+        verify(blogService, never()).saveBlogs(any());
+
+    }
+
+    // JUnit test for submit method with asynchronous writes disabled
+    @Test
+    public void givenSynchronousMode_whenSubmit_thenThrowError(){
+
+        // given - precondition or setup
+        blogWriteQueue = start(false, 10, 10, Duration.ZERO);
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalStateException.class, () -> blogWriteQueue.submit(blogDTO(0)));
+
+        // then - verify the output
+        verify(blogService, never()).saveBlogs(any());
+
+    }
+
+    private BlogWriteQueue start(boolean async, int capacity, int maxBatchSize, Duration maxLinger) {
+        BlogProperties blogProperties = new BlogProperties();
+        blogProperties.getWrite().setAsync(async);
+        blogProperties.getWrite().setQueueCapacity(capacity);
+        blogProperties.getWrite().setMaxBatchSize(maxBatchSize);
+        blogProperties.getWrite().setMaxLinger(maxLinger);
+        BlogWriteQueue queue = new BlogWriteQueue(blogService, blogProperties);
+        queue.start();
+        return queue;
+    }
+
+    private static BlogDTO blogDTO(int i) {
+        return BlogDTO.builder().title("Blog Title " + i).content("Blog Content " + i).build();
+    }
+
+    // Every blog of the group is created with id 100 + its index
+    private static BatchResultDTO created(Iterator<BlogDTO> blogDTOs) {
+        BatchResultDTO result = new BatchResultDTO();
+        for (int index = 0; blogDTOs.hasNext(); index++) {
+            blogDTOs.next();
+            result.getItems().add(BatchItemResultDTO.builder()
+                    .index(index)
+                    .id(100L + index)
+                    .status(BatchItemResultDTO.Status.CREATED)
+                    .build());
+        }
+        return result;
+    }
+
+}
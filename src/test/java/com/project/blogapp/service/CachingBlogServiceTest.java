@@ -0,0 +1,178 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.cache.BlogCaches;
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.dto.BlogDTO;
+import com.project.blogapp.dto.BlogPageDTO;
+import com.project.blogapp.routing.RoutingContext;
+import com.project.blogapp.util.CursorUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingBlogServiceTest {
+
+    @Mock
+    private BlogServiceImpl blogServiceImpl;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @Spy
+    private BlogCaches blogCaches = new BlogCaches(new BlogProperties());
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new BlogProperties(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private CachingBlogService blogService;
+
+    // JUnit test for getBlogPosts served from cache
+    @Test
+    public void givenCachedPage_whenGetBlogPosts_thenDelegateOnlyOnce(){
+
+        // given - precondition or setup
+        given(blogServiceImpl.getBlogPosts(null, 10)).willReturn(page(null, 1L, 2L));
+
+        // when - action or the behaviour that we are going to test
+        blogService.getBlogPosts(null, 10);
+        BlogPageDTO blogPage = blogService.getBlogPosts(null, 10);
+
+        // then - verify the output
+        assertThat(blogPage.getItems().size()).isEqualTo(2);
+        verify(blogServiceImpl, times(1)).getBlogPosts(null, 10);
+        assertThat(blogCaches.getStatistics().get("blogPages").getHitCount()).isEqualTo(1);
+
+    }
+
+    // JUnit test for getBlogPost not caching a value loaded while the blog was evicted
+    @Test
+    public void givenEvictionDuringLoad_whenGetBlogPost_thenDoNotCacheValue(){
+
+        // given - precondition or setup
+        given(blogServiceImpl.getBlogPost(1L)).willAnswer(invocation -> {
+            blogCaches.evictBlog(1L);
+            return BlogDTO.builder().id(1L).title("Title").content("Content").build();
+        });
+
+        // when - action or the behaviour that we are going to test
+        blogService.getBlogPost(1L);
+        BlogDTO blog = blogService.getBlogPost(1L);
+
+        // then - verify the output
+        assertThat(blog.getTitle()).isEqualTo("Title");
+        verify(blogServiceImpl, times(2)).getBlogPost(1L);
+
+    }
+
+    // JUnit test for updateBlog evicting only the pages which contain the blog
+    @Test
+    public void givenCachedPages_whenUpdateBlog_thenEvictOnlyCoveringPage(){
+
+        // given - precondition or setup
+        String secondCursor = CursorUtils.encode(2L);
+        given(blogServiceImpl.getBlogPosts(null, 2)).willReturn(page(secondCursor, 1L, 2L));
+        given(blogServiceImpl.getBlogPosts(secondCursor, 2)).willReturn(page(null, 3L));
+        blogService.getBlogPosts(null, 2);
+        blogService.getBlogPosts(secondCursor, 2);
+
+        // when - action or the behaviour that we are going to test
+        blogService.updateBlog(3L, BlogDTO.builder().title("Title").content("Content").build());
+        blogService.getBlogPosts(null, 2);
+        blogService.getBlogPosts(secondCursor, 2);
+
+        // then - verify the output
+        verify(blogServiceImpl, times(1)).getBlogPosts(null, 2);
+        verify(blogServiceImpl, times(2)).getBlogPosts(secondCursor, 2);
+
+    }
+
+    // JUnit test for saveBlog evicting only the last page
+    @Test
+    public void givenCachedPages_whenSaveBlog_thenEvictOnlyLastPage(){
+
+        // given - precondition or setup
+        String secondCursor = CursorUtils.encode(2L);
+        given(blogServiceImpl.getBlogPostsWithSummaries(null, 2)).willReturn(page(secondCursor, 1L, 2L));
+        given(blogServiceImpl.getBlogPostsWithSummaries(secondCursor, 2)).willReturn(page(null, 3L));
+        blogService.getBlogPostsWithSummaries(null, 2);
+        blogService.getBlogPostsWithSummaries(secondCursor, 2);
+
+        // when - action or the behaviour that we are going to test
+        blogService.saveBlog(BlogDTO.builder().title("Title").content("Content").build());
+        blogService.getBlogPostsWithSummaries(null, 2);
+        blogService.getBlogPostsWithSummaries(secondCursor, 2);
+
+        // then - verify the output
+        verify(blogServiceImpl, times(1)).getBlogPostsWithSummaries(null, 2);
+        verify(blogServiceImpl, times(2)).getBlogPostsWithSummaries(secondCursor, 2);
+
+    }
+
+    // JUnit test for addTag evicting the tag list and the lists which show the blog
+    @Test
+    public void givenCachedTagLists_whenAddTag_thenEvictAffectedTagLists(){
+
+        // given - precondition or setup
+        given(blogServiceImpl.getAllBlogPostsByTag(1L)).willReturn(List.of(BlogDTO.builder().id(5L).build()));
+        given(blogServiceImpl.getAllBlogPostsByTag(2L)).willReturn(List.of());
+        given(blogServiceImpl.getAllBlogPostsByTag(3L)).willReturn(List.of(BlogDTO.builder().id(6L).build()));
+        blogService.getAllBlogPostsByTag(1L);
+        blogService.getAllBlogPostsByTag(2L);
+        blogService.getAllBlogPostsByTag(3L);
+
+        // when - action or the behaviour that we are going to test
+        blogService.addTag(5L, 2L);
+        blogService.getAllBlogPostsByTag(1L);
+        blogService.getAllBlogPostsByTag(2L);
+        blogService.getAllBlogPostsByTag(3L);
+
+        // then - verify the output
+        verify(blogServiceImpl, times(2)).getAllBlogPostsByTag(1L);
+        verify(blogServiceImpl, times(2)).getAllBlogPostsByTag(2L);
+        verify(blogServiceImpl, times(1)).getAllBlogPostsByTag(3L);
+
+    }
+
+    // JUnit test for a read pinned to the primary
+    @Test
+    public void givenPrimaryRequired_whenGetBlogPost_thenCoalesceOnlyWithPrimaryReads(){
+
+        // given - precondition or setup
+        given(blogServiceImpl.getBlogPost(1L)).willReturn(BlogDTO.builder().id(1L).build());
+
+        // when - action or the behaviour that we are going to test
+        RoutingContext.requirePrimary();
+        try {
+            blogService.getBlogPost(1L);
+        } finally {
+            RoutingContext.clear();
+        }
+
+        // then - verify the output
+        verify(singleFlight).execute(eq("posts"), argThat(key -> key.contains(true)), any());
+
+    }
+
+    private static BlogPageDTO page(String nextCursor, Long... ids) {
+        return BlogPageDTO.builder()
+                .items(Arrays.stream(ids).map(id -> BlogDTO.builder().id(id).build()).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.project.blogapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CatalogVersionTest {
+
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    // JUnit test for many writes in a row
+    @Test
+    public void givenManyWrites_whenBump_thenLastModifiedStaysAtOrBeforeNow(){
+
+        // given - precondition or setup
+        String initialETag = catalogVersion.getETag();
+        long before = System.currentTimeMillis();
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 100; i++)
+            catalogVersion.bump();
+        long lastModified = catalogVersion.getLastModified();
+
+        // then - verify the output
+        assertThat(lastModified).isLessThanOrEqualTo(System.currentTimeMillis());
+        assertThat(catalogVersion.getLastWriteMillis()).isBetween(before, System.currentTimeMillis());
+        assertThat(catalogVersion.getETag()).isNotEqualTo(initialETag);
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import com.project.blogapp.exception.BlogNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight singleFlight = new SingleFlight(new BlogProperties(), meterRegistry);
+
+    // JUnit test for concurrent identical loads sharing one execution
+    @Test
+    public void givenConcurrentIdenticalLoads_whenExecute_thenLoadRunsOnce() throws Exception {
+
+        // given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when - action or the behaviour that we are going test
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("tagPosts", List.of(1L), () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "posts";
+                }), executor));
+            }
+            while (meterRegistry.find("blog.coalescing.requests").tag("role", "coalesced").counter() == null
+                    || meterRegistry.get("blog.coalescing.requests").tag("role", "coalesced").counter().count() < 7)
+                Thread.onSpinWait();
+            release.countDown();
+
+            // then - verify the output
+            for (CompletableFuture<String> result : results)
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("posts");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("blog.coalescing.requests").tag("role", "leader").counter().count()).isEqualTo(1);
+        assertThat(singleFlight.getRunning()).isZero();
+    }
+
+    // JUnit test for waiting callers getting the exception of the load
+    @Test
+    public void givenFailingLoad_whenExecuteConcurrently_thenEveryCallerGetsException() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("posts", List.of(7L), () -> {
+            started.countDown();
+            await(release);
+            throw new BlogNotFoundException("Blog with id is not found: 7");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when - action or the behaviour that we are going test
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("posts", List.of(7L), () -> "loaded"));
+        while (meterRegistry.find("blog.coalescing.requests").tag("role", "coalesced").counter() == null)
+            Thread.onSpinWait();
+        release.countDown();
+
+        // then - verify the output
+        Exception e = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(e.getCause()).isInstanceOf(BlogNotFoundException.class);
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+
+    // JUnit test for a load after a finished one running again
+    @Test
+    public void givenFinishedLoad_whenExecute_thenLoadRunsAgain(){
+
+        // given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.execute("blogPages", List.of(1L), loads::incrementAndGet);
+
+        // when - action or the behaviour that we are going test
+        int result = singleFlight.execute("blogPages", List.of(1L), loads::incrementAndGet);
+
+        // then - verify the output
+        assertThat(result).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
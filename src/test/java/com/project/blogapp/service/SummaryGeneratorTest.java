@@ -0,0 +1,56 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.config.BlogProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SummaryGeneratorTest {
+
+    private SummaryGenerator summaryGenerator;
+
+    @BeforeEach
+    void setUp() {
+        BlogProperties blogProperties = new BlogProperties();
+        blogProperties.getSummary().setLength(20);
+        summaryGenerator = new SummaryGenerator(blogProperties);
+    }
+
+    // JUnit test for summarize with a content shorter than the limit
+    @Test
+    public void givenShortContent_whenSummarize_thenReturnContentAsIs(){
+
+        // when - action or the behaviour that we are going to test
+        String summary = summaryGenerator.summarize("Short content");
+
+        // then - verify the output
+        assertThat(summary).isEqualTo("Short content");
+
+    }
+
+    // JUnit test for summarize cutting on a word boundary
+    @Test
+    public void givenLongContent_whenSummarize_thenCutAtWordBoundary(){
+
+        // when - action or the behaviour that we are going to test
+        String summary = summaryGenerator.summarize("Lorem ipsum, dolor sit amet consectetur");
+
+        // then - verify the output
+        assertThat(summary).isEqualTo("Lorem ipsum, dolor...");
+
+    }
+
+    // JUnit test for summarize with a single word longer than the limit
+    @Test
+    public void givenSingleLongWord_whenSummarize_thenCutAtLimit(){
+
+        // when - action or the behaviour that we are going to test
+        String summary = summaryGenerator.summarize("x".repeat(50));
+
+        // then - verify the output
+        assertThat(summary).isEqualTo("x".repeat(20).concat("..."));
+
+    }
+
+}
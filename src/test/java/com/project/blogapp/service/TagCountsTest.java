@@ -0,0 +1,102 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.dto.TagCountDTO;
+import com.project.blogapp.repository.BlogRepository;
+import com.project.blogapp.repository.projection.TagCountView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TagCountsTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @InjectMocks
+    private TagCounts tagCounts;
+
+    // JUnit test for getTagCounts served from the incrementally maintained counters
+    @Test
+    public void givenReconciledCounts_whenAdd_thenReturnAdjustedCounts(){
+
+        // given - precondition or setup
+        given(blogRepository.getPostCountsByTag()).willReturn(List.of(tagCount(1L, 3L)));
+        given(tagDictionary.getAll()).willReturn(Map.of(1L, "Backend", 2L, "Frontend", 3L, "Mobile"));
+        tagCounts.reconcile();
+
+        // when - action or the behaviour that we are going to test
+        tagCounts.add(1L, -1);
+        tagCounts.add(2L, 1);
+        List<TagCountDTO> counts = tagCounts.getTagCounts();
+
+        // then - verify the output
+        assertThat(counts).extracting(TagCountDTO::getName).containsExactly("Backend", "Frontend", "Mobile");
+        assertThat(counts).extracting(TagCountDTO::getPostCount).containsExactly(2L, 1L, 0L);
+        verify(blogRepository, times(1)).getPostCountsByTag();
+
+    }
+
+    // JUnit test for reconcile replacing drifted counts
+    @Test
+    public void givenDriftedCounts_whenReconcile_thenMatchBlogTagTable(){
+
+        // given - precondition or setup
+        tagCounts.add(1L, 5);
+        tagCounts.add(2L, 1);
+        given(blogRepository.getPostCountsByTag()).willReturn(List.of(tagCount(1L, 4L)));
+
+        // when - action or the behaviour that we are going to test
+        tagCounts.reconcile();
+
+        // then - verify the output
+        assertThat(tagCounts.get(1L)).isEqualTo(4L);
+        assertThat(tagCounts.get(2L)).isZero();
+
+    }
+
+    // JUnit test for a delta added while the recount runs
+    @Test
+    public void givenDeltaDuringRecount_whenReconcile_thenKeepDelta(){
+
+        // given - precondition or setup
+        tagCounts.add(1L, 4);
+        given(blogRepository.getPostCountsByTag()).willAnswer(invocation -> {
+            tagCounts.add(1L, 1);
+            return List.of(tagCount(1L, 4L));
+        });
+
+        // when - action or the behaviour that we are going to test
+        tagCounts.reconcile();
+
+        // then - verify the output
+        assertThat(tagCounts.get(1L)).isEqualTo(5L);
+
+    }
+
+    private static TagCountView tagCount(Long tagId, Long postCount) {
+        return new TagCountView() {
+            @Override
+            public Long getTagId() {
+                return tagId;
+            }
+
+            @Override
+            public Long getPostCount() {
+                return postCount;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.project.blogapp.service;
+
+import com.project.blogapp.entity.Tag;
+import com.project.blogapp.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TagDictionaryTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @InjectMocks
+    private TagDictionary tagDictionary;
+
+    // JUnit test for lookups served from memory after refresh
+    @Test
+    public void givenRefreshedDictionary_whenGetName_thenNoRepositoryLookup(){
+
+        // given - precondition or setup
+        given(tagRepository.findAll()).willReturn(List.of(
+                Tag.builder().id(1L).tag_name("Backend").build(),
+                Tag.builder().id(2L).tag_name("Frontend").build()));
+        tagDictionary.refresh();
+
+        // when - action or the behaviour that we are going to test
+        String name = tagDictionary.getName(1L);
+        boolean exists = tagDictionary.contains(2L);
+
+        // then - verify the output
+        assertThat(name).isEqualTo("Backend");
+        assertThat(exists).isTrue();
+        verify(tagRepository, never()).findById(anyLong());
+
+    }
+
+    // JUnit test for an unknown tag falling back to the repository once
+    @Test
+    public void givenUnknownTag_whenGetName_thenLoadFromRepositoryOnce(){
+
+        // given - precondition or setup
+        given(tagRepository.findById(3L)).willReturn(Optional.of(Tag.builder().id(3L).tag_name("Mobile").build()));
+
+        // when - action or the behaviour that we are going to test
+        tagDictionary.getName(3L);
+        String name = tagDictionary.getName(3L);
+
+        // then - verify the output
+        assertThat(name).isEqualTo("Mobile");
+        verify(tagRepository, times(1)).findById(3L);
+
+    }
+
+    // JUnit test for a removed tag
+    @Test
+    public void givenRemovedTag_whenContains_thenReturnFalse(){
+
+        // given - precondition or setup
+        tagDictionary.put(Tag.builder().id(4L).tag_name("DevOps").build());
+        tagDictionary.remove(4L);
+        given(tagRepository.findById(4L)).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going to test
+        boolean exists = tagDictionary.contains(4L);
+
+        // then - verify the output
+        assertThat(exists).isFalse();
+
+    }
+
+    // JUnit test for an unknown tag which is not looked up again
+    @Test
+    public void givenUnknownTag_whenContainsTwice_thenLookUpRepositoryOnce(){
+
+        // given - precondition or setup
+        given(tagRepository.findById(5L)).willReturn(Optional.empty());
+        tagDictionary.contains(5L);
+
+        // when - action or the behaviour that we are going to test
+        boolean exists = tagDictionary.contains(5L);
+
+        // then - verify the output
+        assertThat(exists).isFalse();
+        verify(tagRepository, times(1)).findById(5L);
+
+    }
+
+    // JUnit test for an unknown tag which is created afterwards
+    @Test
+    public void givenAbsentTag_whenPut_thenContainsTag(){
+
+        // given - precondition or setup
+        given(tagRepository.findById(6L)).willReturn(Optional.empty());
+        tagDictionary.contains(6L);
+
+        // when - action or the behaviour that we are going to test
+        tagDictionary.put(Tag.builder().id(6L).tag_name("Cloud").build());
+
+        // then - verify the output
+        assertThat(tagDictionary.contains(6L)).isTrue();
+
+    }
+
+}
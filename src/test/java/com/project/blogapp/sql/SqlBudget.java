@@ -0,0 +1,46 @@
+package com.project.blogapp.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+/**
+ * Query budgets for tests. Requests are checked through the X-Sql-Statements header, which the test
+ * properties switch on, anything else by running it inside its own statistics scope.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher statements(int expected) {
+        return header().string(SqlStatisticsFilter.STATEMENTS_HEADER, String.valueOf(expected));
+    }
+
+    public static ResultMatcher rows(long expected) {
+        return header().string(SqlStatisticsFilter.ROWS_HEADER, String.valueOf(expected));
+    }
+
+    public static SqlStatistics measure(ThrowingRunnable action) throws Exception {
+        try (SqlStatistics statistics = SqlStatistics.open()) {
+            action.run();
+            return statistics;
+        }
+    }
+
+    public static void assertStatements(int expected, ThrowingRunnable action) throws Exception {
+        SqlStatistics statistics = measure(action);
+        assertThat(statistics.getStatements())
+                .as("SQL statements, executed: %s", statistics.getExecutions())
+                .isEqualTo(expected);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.project.blogapp.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatisticsTest {
+
+    // JUnit test for statements recorded in nested scopes
+    @Test
+    public void givenNestedScopes_whenRecordStatement_thenCountInEveryScope(){
+
+        // given - precondition or setup
+        SqlStatistics inner;
+        try (SqlStatistics outer = SqlStatistics.open()) {
+            SqlStatistics.recordStatement("select 1", 1_000_000);
+            try (SqlStatistics scope = SqlStatistics.open()) {
+                inner = scope;
+
+                // when - action or the behaviour that we are going to test
+                SqlStatistics.recordStatement("select 2", 2_000_000);
+                SqlStatistics.recordRow();
+            }
+
+            // then - verify the output
+            assertThat(SqlStatistics.current()).isSameAs(outer);
+            assertThat(outer.getStatements()).isEqualTo(2);
+            assertThat(outer.getJdbcTime().toMillis()).isEqualTo(3);
+            assertThat(outer.getRows()).isEqualTo(1);
+        }
+        assertThat(inner.getStatements()).isEqualTo(1);
+        assertThat(SqlStatistics.current()).isNull();
+
+    }
+
+    // JUnit test for getRepeatedStatements method
+    @Test
+    public void givenRepeatedStatement_whenGetRepeatedStatements_thenReturnStatementAboveThreshold(){
+
+        // given - precondition or setup
+        try (SqlStatistics statistics = SqlStatistics.open()) {
+            SqlStatistics.recordStatement("select * from blog", 0);
+            for (int i = 0; i < 5; i++)
+                SqlStatistics.recordStatement("select * from tag where id=?", 0);
+
+            // when - action or the behaviour that we are going to test
+            Map<String, Integer> repeated = statistics.getRepeatedStatements(5);
+
+            // then - verify the output
+            assertThat(repeated).containsExactly(Map.entry("select * from tag where id=?", 5));
+        }
+
+    }
+
+    // JUnit test for recording without an open scope
+    @Test
+    public void givenNoScope_whenRecordStatement_thenIgnore(){
+
+        // when - action or the behaviour that we are going to test
+        SqlStatistics.recordStatement("select 1", 0);
+
+        // then - verify the output
+        assertThat(SqlStatistics.current()).isNull();
+
+    }
+
+}
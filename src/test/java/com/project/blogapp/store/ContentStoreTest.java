@@ -0,0 +1,169 @@
+package com.project.blogapp.store;
+
+import com.project.blogapp.config.BlogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContentStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private BlogProperties blogProperties;
+
+    private ContentStore contentStore;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        blogProperties = new BlogProperties();
+        blogProperties.getContentStore().setDirectory(directory.toString());
+        blogProperties.getContentStore().setSegmentSize(DataSize.ofKilobytes(1));
+        contentStore = new ContentStore(blogProperties);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        contentStore.close();
+    }
+
+    // JUnit test for put method with identical bodies
+    @Test
+    public void givenIdenticalBodies_whenPut_thenStoreOnce(){
+
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        String first = contentStore.put("Same body");
+        String second = contentStore.put("Same body");
+
+        // then - verify the output
+        assertThat(first).isEqualTo(second);
+        assertThat(ContentStore.isReference(first)).isTrue();
+        assertThat(contentStore.size()).isEqualTo(1);
+
+    }
+
+    // JUnit test for getString method
+    @Test
+    public void givenStoredBody_whenGetString_thenReturnBody(){
+
+        // given - precondition or setup
+        String reference = contentStore.put("Body with ünïcode");
+
+        // when - action or the behaviour that we are going to test
+        String content = contentStore.getString(reference);
+
+        // then - verify the output
+        assertThat(content).isEqualTo("Body with ünïcode");
+
+    }
+
+    // JUnit test for get method with an unknown reference
+    @Test
+    public void givenUnknownReference_whenGet_thenThrowsException(){
+
+        // given - precondition or setup
+        String reference = ContentStore.REFERENCE_PREFIX + "0".repeat(64);
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(IllegalStateException.class, () -> contentStore.get(reference));
+
+        // then - verify the output
+        assertThrows(IllegalArgumentException.class, () -> contentStore.get("Not a reference"));
+
+    }
+
+    // JUnit test for reopening the store
+    @Test
+    public void givenStoredBodies_whenReopen_thenRebuildIndex() throws IOException {
+
+        // given - precondition or setup
+        String first = contentStore.put("First body");
+        String second = contentStore.put("Second body");
+        contentStore.close();
+
+        // when - action or the behaviour that we are going to test
+        contentStore = new ContentStore(blogProperties);
+        String third = contentStore.put("Third body");
+
+        // then - verify the output
+        assertThat(contentStore.size()).isEqualTo(3);
+        assertThat(contentStore.getString(first)).isEqualTo("First body");
+        assertThat(contentStore.getString(second)).isEqualTo("Second body");
+        assertThat(contentStore.getString(third)).isEqualTo("Third body");
+
+    }
+
+    // JUnit test for bodies which do not fit in one segment
+    @Test
+    public void givenFullSegment_whenPut_thenRollOverToNewSegment() throws IOException {
+
+        // given - precondition or setup
+        String small = contentStore.put("a".repeat(600));
+
+        // when - action or the behaviour that we are going to test
+        String large = contentStore.put("b".repeat(2000));
+
+        // then - verify the output
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(contentStore.getString(small)).isEqualTo("a".repeat(600));
+        assertThat(contentStore.getString(large)).isEqualTo("b".repeat(2000));
+
+    }
+
+    // JUnit test for compact method
+    @Test
+    public void givenUnreferencedBody_whenCompact_thenRemoveIt() throws IOException {
+
+        // given - precondition or setup
+        String live = contentStore.put("a".repeat(600));
+        String unreferenced = contentStore.put("b".repeat(600));
+
+        // when - action or the behaviour that we are going to test
+        int removed = contentStore.compact(List.of(live), Duration.ZERO);
+
+        // then - verify the output
+        assertThat(removed).isEqualTo(1);
+        assertThat(contentStore.size()).isEqualTo(1);
+        assertThat(contentStore.getString(live)).isEqualTo("a".repeat(600));
+        assertThrows(IllegalStateException.class, () -> contentStore.get(unreferenced));
+        assertThat(segmentFiles()).hasSize(1);
+
+    }
+
+    // JUnit test for compact method within the grace period
+    @Test
+    public void givenRecentlyStoredBody_whenCompact_thenKeepIt() throws IOException {
+
+        // given - precondition or setup
+        String reference = contentStore.put("Not committed yet");
+
+        // when - action or the behaviour that we are going to test
+        int removed = contentStore.compact(List.of(), Duration.ofMinutes(10));
+
+        // then - verify the output
+        assertThat(removed).isZero();
+        assertThat(contentStore.getString(reference)).isEqualTo("Not committed yet");
+
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+}
@@ -1,15 +1,27 @@
 drop table if exists blog_tag;
+drop table if exists blog_content;
 drop table if exists blog;
 drop table if exists tag;
+drop table if exists blog_seq;
+drop table if exists tag_seq;
 
 create table blog
 (
     id      bigint       not null auto_increment primary key,
     title   VARCHAR(255) NOT NULL,
-    content CLOB         NOT NULL
+    summary VARCHAR(1024),
+    version bigint       NOT NULL DEFAULT 0
 );
 
 
+-- Content lives apart from the blog row, reads of blog metadata do not drag the CLOB along
+create table blog_content
+(
+    blog_id bigint not null primary key,
+    content CLOB   NOT NULL,
+    CONSTRAINT FK_blog_content FOREIGN KEY (blog_id) REFERENCES blog (id)
+);
+
 create table tag(
     id bigint not null auto_increment primary key,
     tag_name VARCHAR(255) NOT NULL
@@ -21,4 +33,16 @@ create table blog_tag(
     CONSTRAINT blog_tag_pk PRIMARY KEY (blog_id, tag_id),
     CONSTRAINT FK_blog FOREIGN KEY (blog_id) REFERENCES blog (id),
     CONSTRAINT FK_tag FOREIGN KEY (tag_id) REFERENCES tag (id)
-);
\ No newline at end of file
+);
+
+-- Backing tables of the pooled id generators, MySQL has no sequences. Values start above the seed data ids
+create table blog_seq(
+    next_val bigint not null
+);
+
+create table tag_seq(
+    next_val bigint not null
+);
+
+insert into blog_seq (next_val) values (1000);
+insert into tag_seq (next_val) values (1000);
\ No newline at end of file